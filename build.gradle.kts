@@ -32,6 +32,8 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-mongodb")
 	implementation("tech.jhipster:jhipster-framework:8.7.1")
 	implementation("org.springdoc:springdoc-openapi-ui:1.7.0")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
 	annotationProcessor("org.hibernate.orm:hibernate-jpamodelgen:6.3.1.Final")
 
 	developmentOnly("org.springframework.boot:spring-boot-devtools")
@@ -43,3 +45,22 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+// benchmarks need the real databases and run for minutes; they only run through their own task
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+tasks.register<Test>("benchmark") {
+	description = "Runs the benchmarks tagged 'benchmark' against the configured databases."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	outputs.upToDateWhen { false }
+	testLogging.showStandardStreams = true
+}
@@ -0,0 +1,53 @@
+package com.anlb.readcycle.config;
+
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the pooled id generators of {@code books}, {@code borrows} and {@code carts}
+ * past the ids already in their tables.
+ *
+ * The entities of these tables take pooled ids from {@code @TableGenerator}s
+ * instead of {@code IDENTITY}, so Hibernate can batch their inserts. The tables
+ * were filled with {@code AUTO_INCREMENT} ids before that switch; without this the first blocks handed out
+ * would collide with existing rows. The pooled optimizer treats the stored value as
+ * the upper end of the next block, so it must be at least the highest id plus one
+ * block. Runs once the schema has been updated and before any insert; a value that
+ * is already higher is kept.
+ */
+@Slf4j
+@Component
+public class IdGeneratorInitializer {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    // generator row -> table whose ids it hands out
+    private static final Map<String, String> TABLES = Map.of(
+            "books", "books",
+            "borrows", "borrows",
+            "carts", "carts");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // injected so that the schema update of the entity manager factory has run
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        TABLES.forEach((name, table) -> {
+            jdbcTemplate.update("INSERT INTO id_generators (name, next_val) "
+                    + "SELECT ?, COALESCE(MAX(id), 0) + ? FROM " + table + " "
+                    + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))",
+                    name, ALLOCATION_SIZE);
+            log.debug("id generator {} starts after the ids of {}", name, table);
+        });
+    }
+}
@@ -0,0 +1,257 @@
+package com.anlb.readcycle.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.anlb.readcycle.dto.response.ResultResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes the borrow, checkout, return and add-to-cart endpoints safe to retry.
+ *
+ * A request carrying an {@code Idempotency-Key} header is executed once per user,
+ * method, path and key; its response (any status below 500) is kept in a bounded
+ * in-memory store for {@code anlb.idempotency.ttl-in-seconds} and replayed verbatim,
+ * with {@code Idempotent-Replayed: true}, to every retry. A retry arriving while the
+ * first request is still running waits for its result instead of running in
+ * parallel. Server errors are not stored, so the next retry executes again.
+ *
+ * The key is bound to a hash of the request body: reusing it with another body,
+ * e.g. other borrow ids, is answered with 422 instead of replaying a response
+ * that does not belong to that request.
+ *
+ * Requests without the header are not affected.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<String> PATHS = Set.of(
+            "/api/v1/borrow",
+            "/api/v1/checkout",
+            "/api/v1/return-book",
+            "/api/v1/return-books",
+            "/api/v1/add-to-cart");
+
+    private record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    // body hash of the first request and its response, incomplete while it runs
+    private record KeyedRequest(String bodyHash, CompletableFuture<StoredResponse> response) {
+    }
+
+    // scoped key -> first request
+    private final ConcurrentMap<String, KeyedRequest> responses;
+    private final long waitTimeoutInSeconds;
+    private final ObjectMapper mapper;
+
+    public IdempotencyFilter(ObjectMapper mapper,
+            @Value("${anlb.idempotency.max-size:10000}") long maxSize,
+            @Value("${anlb.idempotency.ttl-in-seconds:86400}") long ttlInSeconds,
+            @Value("${anlb.idempotency.wait-timeout-in-seconds:30}") long waitTimeoutInSeconds) {
+        Cache<String, KeyedRequest> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlInSeconds))
+                .build();
+        this.responses = cache.asMap();
+        this.waitTimeoutInSeconds = waitTimeoutInSeconds;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(KEY_HEADER) == null
+                || "GET".equals(request.getMethod())
+                || !PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, KEY_HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        String scopedKey = currentUser() + ' ' + request.getMethod() + ' ' + request.getRequestURI() + ' ' + key;
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String bodyHash = hash(cachedRequest.body);
+
+        while (true) {
+            KeyedRequest pending = new KeyedRequest(bodyHash, new CompletableFuture<>());
+            KeyedRequest first = responses.putIfAbsent(scopedKey, pending);
+            if (first == null) {
+                execute(scopedKey, pending, cachedRequest, response, filterChain);
+                return;
+            }
+            if (!first.bodyHash().equals(bodyHash)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "This " + KEY_HEADER + " was already used with a different request body");
+                return;
+            }
+            StoredResponse stored;
+            try {
+                stored = first.response().get(waitTimeoutInSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeError(response, HttpStatus.CONFLICT, "A request with this " + KEY_HEADER + " is still in progress");
+                return;
+            } catch (ExecutionException e) {
+                // the first request failed and released the key; try to execute again
+                continue;
+            }
+            replay(stored, response);
+            return;
+        }
+    }
+
+    /**
+     * Runs the request, stores its response unless it is a server error and releases
+     * the requests waiting on it.
+     */
+    private void execute(String scopedKey, KeyedRequest pending, HttpServletRequest request,
+            HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                stored = new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray());
+            }
+        } finally {
+            if (stored != null) {
+                pending.response().complete(stored);
+            } else {
+                responses.remove(scopedKey, pending);
+                pending.response().completeExceptionally(new IllegalStateException("request failed"));
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        log.debug("replaying response {} for a repeated {}", stored.status(), KEY_HEADER);
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        ResultResponseDto<Object> res = new ResultResponseDto<Object>();
+        res.setStatusCode(status.value());
+        res.setError(message);
+        res.setMessage("Idempotency error");
+        mapper.writeValue(response.getWriter(), res);
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the whole body up front so it can be hashed before the request runs,
+     * and serves it again to the handler.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "" : authentication.getName();
+    }
+}
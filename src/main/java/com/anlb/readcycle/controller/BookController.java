@@ -4,22 +4,32 @@ import java.util.List;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.response.BookResponseDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
 import com.anlb.readcycle.dto.response.BulkCreateResponseDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.mapper.BookMapper;
 import com.anlb.readcycle.service.IBookService;
+import com.anlb.readcycle.service.cache.BookVersionRegistry;
+import com.anlb.readcycle.service.notification.BookAvailabilityBroadcaster;
+import com.anlb.readcycle.service.search.BookTrendingTracker;
 import com.anlb.readcycle.utils.anotation.ApiMessage;
 import com.anlb.readcycle.utils.exception.InvalidException;
 import com.turkraft.springfilter.boot.Filter;
@@ -33,20 +43,39 @@ public class BookController {
     
     private final IBookService bookService;
     private final BookMapper bookMapper;
+    private final BookVersionRegistry bookVersionRegistry;
+    private final BookTrendingTracker bookTrendingTracker;
+    private final BookAvailabilityBroadcaster bookAvailabilityBroadcaster;
 
     /**
      * {@code GET  /books/{id}} : Retrieves a book by its ID.
      *
+     * The response carries an ETag built from the book's last change; a request whose
+     * {@code If-None-Match} still matches an active book is answered with
+     * {@code 304 (Not Modified)} without loading it.
+     * Every other successful read counts as a view towards the trending ranking.
+     *
      * @param id The ID of the book to retrieve.
+     * @param request The current request, checked for {@code If-None-Match}.
      * @return A {@link ResponseEntity} containing the book details in a {@link BookResponseDto}.
      * @throws InvalidException If the book is not found or is not active.
      */
     @GetMapping("/books/{id}")
     @ApiMessage("Get book by id")
-    public ResponseEntity<BookResponseDto> getBookById(@PathVariable("id") long id) throws InvalidException {
+    public ResponseEntity<BookResponseDto> getBookById(@PathVariable("id") long id, WebRequest request) throws InvalidException {
+        String etag = bookVersionRegistry.getBookETag(id);
+        if (etag != null && request.checkNotModified(etag)) {
+            return ResponseEntity
+                        .status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .build();
+        }
         Book currentBook = bookService.handleGetBookByIdAndActive(id, true);
+        bookTrendingTracker.recordView(id);
         return ResponseEntity
                     .status(HttpStatus.OK)
+                    .eTag(bookVersionRegistry.getBookETag(currentBook))
+                    .cacheControl(CacheControl.noCache())
                     .body(bookMapper.convertBookToBookResponseDto(currentBook));
     }
 
@@ -54,16 +83,77 @@ public class BookController {
      * {@code GET  /books} : Retrieves a paginated list of books
      *                       based on the provided filter and pagination parameters.
      *
+     * When a free text query {@code q} is given, books are searched over title, author,
+     * category and publisher and ordered by relevance; {@code filter} is not applied then.
+     * Pages carry the catalog ETag and are answered with {@code 304 (Not Modified)} while
+     * no book has changed.
+     *
      * @param spec The filter specification to apply when retrieving books.
+     * @param q The optional free text query.
      * @param pageable The pagination information, including page number and size.
+     * @param pagination The optional keyset cursor; ignored for free text queries.
+     * @param request The current request, checked for {@code If-None-Match}.
      * @return A {@link ResponseEntity} containing a paginated list of books in a {@link ResultPaginateDto}.
+     * @throws InvalidException If the cursor is not valid.
      */
     @GetMapping("/books")
     @ApiMessage("Get all books")
-    public ResponseEntity<ResultPaginateDto> getAllBooks(@Filter Specification<Book> spec, Pageable pageable) {
+    public ResponseEntity<ResultPaginateDto> getAllBooks(@Filter Specification<Book> spec,
+            @RequestParam(name = "q", required = false) String q, Pageable pageable,
+            PaginationRequestDto pagination, WebRequest request) throws InvalidException {
+        String etag = bookVersionRegistry.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity
+                        .status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .build();
+        }
+        if (q != null && !q.isBlank()) {
+            return ResponseEntity
+                        .status(HttpStatus.OK)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache())
+                        .body(bookService.handleSearchBooksClient(q, pageable));
+        }
+        return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(bookService.handleGetAllBooksClient(spec, pageable, pagination));
+    }
+
+    /**
+     * {@code GET  /books/{id}/similar} : Retrieves the books most often borrowed together with a book.
+     *
+     * @param id   the ID of the book.
+     * @param size the maximum number of books (default 10, at most 20).
+     * @return a {@link ResponseEntity} containing the similar books, best first.
+     */
+    @GetMapping("/books/{id}/similar")
+    @ApiMessage("Get similar books")
+    public ResponseEntity<List<BookSummaryDto>> getSimilarBooks(@PathVariable("id") long id,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
+        return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(bookService.handleGetSimilarBooks(id, size));
+    }
+
+    /**
+     * {@code GET  /books/availability/stream} : Streams the availability changes of books as server-sent events.
+     *
+     * The current stock of each book is sent first, then one {@code availability}
+     * event per change, so clients no longer poll the book detail.
+     *
+     * @param ids the IDs of the books to watch.
+     * @return a {@link ResponseEntity} containing the event stream.
+     * @throws InvalidException if no ID or too many IDs are given.
+     */
+    @GetMapping(path = "/books/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiMessage("Stream book availability")
+    public ResponseEntity<SseEmitter> streamAvailability(@RequestParam(name = "ids") List<Long> ids) throws InvalidException {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(bookService.handleGetAllBooksClient(spec, pageable));
+                    .body(bookAvailabilityBroadcaster.subscribe(ids));
     }
 
     /**
@@ -75,10 +165,11 @@ public class BookController {
      * @param books a list of {@link CreateBookRequestDto} objects containing book details.
      * @return a {@link ResponseEntity} containing a {@link BulkCreateResponseDto} 
      *         with the result of the bulk creation process.
+     * @throws InvalidException if the current user cannot be resolved.
      */
     @PostMapping("/books/bulk-create")
     @ApiMessage("Import books")
-    public ResponseEntity<BulkCreateResponseDto> bulkCreateBooks(@RequestBody List<CreateBookRequestDto> books) {
+    public ResponseEntity<BulkCreateResponseDto> bulkCreateBooks(@RequestBody List<CreateBookRequestDto> books) throws InvalidException {
         return ResponseEntity
                     .status(HttpStatus.CREATED)
                     .body(bookService.handleBulkCreateBooksbooks(books));
@@ -1,17 +1,27 @@
 package com.anlb.readcycle.controller;
 
+import java.util.List;
+
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
+import com.anlb.readcycle.dto.response.BookSuggestionDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.service.IBookService;
+import com.anlb.readcycle.service.cache.BookVersionRegistry;
+import com.anlb.readcycle.service.search.BookTrendingTracker;
 import com.anlb.readcycle.service.criteria.BookCriteria;
 import com.anlb.readcycle.utils.anotation.ApiMessage;
+import com.anlb.readcycle.utils.exception.InvalidException;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,22 +31,63 @@ import lombok.RequiredArgsConstructor;
 public class BookControllerV2 {
 
     private final IBookService bookService;
+    private final BookVersionRegistry bookVersionRegistry;
 
     /**
      * {@code GET  /books} : Retrieves a paginated list of books based on the provided criteria.
      *
      * This endpoint allows fetching all books with optional filtering and pagination.
+     * Pages carry the catalog ETag and are answered with {@code 304 (Not Modified)} while
+     * no book has changed. {@code sort=trending} orders the books by recent views and
+     * borrows; those pages carry no ETag.
      *
-     * @param criteria a {@link BookCriteria} object containing filters for querying books.
+     * @param criteria a {@link BookCriteria} object containing filters for querying books;
+     *                 {@code fuzzy=true} matches the title and author filters with typo tolerance.
      * @param pageable a {@link Pageable} object defining pagination and sorting parameters.
+     * @param pagination the optional keyset cursor.
+     * @param request the current request, checked for {@code If-None-Match}.
      * @return a {@link ResponseEntity} containing a {@link ResultPaginateDto} 
      *         with the paginated list of books.
+     * @throws InvalidException if the cursor is not valid.
      */
     @GetMapping("/books")
     @ApiMessage("Get all books")
-    public ResponseEntity<ResultPaginateDto> getAllBooks(@ParameterObject BookCriteria criteria, @ParameterObject Pageable pageable) {
+    public ResponseEntity<ResultPaginateDto> getAllBooks(@ParameterObject BookCriteria criteria, @ParameterObject Pageable pageable,
+            @ParameterObject PaginationRequestDto pagination, WebRequest request) throws InvalidException {
+        if (BookTrendingTracker.isTrendingSort(pageable.getSort())) {
+            // the ranking moves without any book changing, so the catalog ETag does not apply
+            return ResponseEntity
+                        .status(HttpStatus.OK)
+                        .cacheControl(CacheControl.noCache())
+                        .body(bookService.handleGetAllBooksClientV2(criteria, pageable, pagination));
+        }
+        String etag = bookVersionRegistry.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity
+                        .status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .build();
+        }
+        return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(bookService.handleGetAllBooksClientV2(criteria, pageable, pagination));
+    }
+
+    /**
+     * {@code GET  /books/suggest} : Suggests titles and authors of active books as the user types.
+     *
+     * @param q    the text typed so far.
+     * @param size the maximum number of suggestions (default 10, at most 20).
+     * @return a {@link ResponseEntity} containing the matching {@link BookSuggestionDto}s.
+     */
+    @GetMapping("/books/suggest")
+    @ApiMessage("Suggest books")
+    public ResponseEntity<List<BookSuggestionDto>> suggestBooks(@RequestParam(name = "q") String q,
+            @RequestParam(name = "size", defaultValue = "10") int size) {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(bookService.handleGetAllBooksClientV2(criteria, pageable));
+                    .body(bookService.handleSuggestBooks(q, size));
     }
 }
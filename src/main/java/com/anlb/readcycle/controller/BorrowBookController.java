@@ -14,11 +14,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.anlb.readcycle.config.IdempotencyFilter;
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.domain.Borrow;
 import com.anlb.readcycle.domain.Cart;
 import com.anlb.readcycle.dto.request.CreateBorrowBookRequestDto;
+import com.anlb.readcycle.dto.request.ReturnBooksRequestDto;
 import com.anlb.readcycle.dto.response.CreateCartResponseDto;
+import com.anlb.readcycle.dto.response.ReturnBooksResponseDto;
 import com.anlb.readcycle.mapper.CartMapper;
 import com.anlb.readcycle.service.IBorrowBookService;
 import com.anlb.readcycle.service.ICartService;
@@ -27,6 +30,10 @@ import com.anlb.readcycle.utils.exception.InvalidException;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Cart, borrow, checkout and return endpoints. The writes accept an {@code Idempotency-Key}
+ * header so that client retries replay the first response, see {@link IdempotencyFilter}.
+ */
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
@@ -79,6 +86,24 @@ public class BorrowBookController {
                 .body(borrowBookService.handleBorrowBook(reqBorrow));
     }
 
+    /**
+     * {@code POST  /checkout} : Borrows every book in the cart of the authenticated user.
+     *
+     * The cart is converted into borrows and emptied in one transaction, so either
+     * every book of the cart is borrowed or none is.
+     *
+     * @return a {@link ResponseEntity} containing a list of {@link Borrow}
+     *         objects representing the borrowed books.
+     * @throws InvalidException if the cart is empty or a book is unavailable.
+     */
+    @PostMapping("/checkout")
+    @ApiMessage("Checkout cart")
+    public ResponseEntity<List<Borrow>> handleCheckout() throws InvalidException {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(borrowBookService.handleCheckout());
+    }
+
     /**
      * {@code PUT  /return-book} : Returns borrowed books to the library.
      *
@@ -98,6 +123,23 @@ public class BorrowBookController {
                 .ok(borrowBookService.handleReturnBook(borrow));
     }
 
+    /**
+     * {@code PUT  /return-books} : Returns many borrowed books at once.
+     *
+     * Either every borrow of the request is returned or none is.
+     *
+     * @param request a {@link ReturnBooksRequestDto} containing the ids of the borrows to return.
+     * @return a {@link ResponseEntity} containing the number and ids of the returned borrows.
+     * @throws InvalidException if a borrow does not exist or is already returned.
+     */
+    @PutMapping("/return-books")
+    @ApiMessage("Return many books")
+    public ResponseEntity<ReturnBooksResponseDto> handleReturnBooks(@RequestBody ReturnBooksRequestDto request)
+            throws InvalidException {
+        return ResponseEntity
+                .ok(borrowBookService.handleReturnBooks(request));
+    }
+
     /**
      * {@code GET  /carts} : Retrieves the shopping carts of the authenticated user.
      *
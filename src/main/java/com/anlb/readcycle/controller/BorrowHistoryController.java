@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.service.IBorrowBookService;
 import com.anlb.readcycle.utils.anotation.ApiMessage;
@@ -31,15 +32,17 @@ public class BorrowHistoryController {
      *
      * @param spec a {@link Specification} of {@link Borrow} for filtering the borrowing history.
      * @param pageable a {@link Pageable} object for pagination details.
+     * @param pagination the optional keyset cursor.
      * @return a {@link ResponseEntity} containing a {@link ResultPaginateDto} 
      *         representing the paginated borrowing history.
      * @throws InvalidException if the request is invalid or encounters an issue.
      */
     @GetMapping("/history")
     @ApiMessage("Get history by user")
-    public ResponseEntity<ResultPaginateDto> getHistory(@Filter Specification<Borrow> spec, Pageable pageable) throws InvalidException {
+    public ResponseEntity<ResultPaginateDto> getHistory(@Filter Specification<Borrow> spec, Pageable pageable,
+            PaginationRequestDto pagination) throws InvalidException {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(borrowBookService.handleGetHistoryByUser(spec, pageable));
+                    .body(borrowBookService.handleGetHistoryByUser(spec, pageable, pagination));
     }
 }
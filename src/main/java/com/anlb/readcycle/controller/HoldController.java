@@ -0,0 +1,75 @@
+package com.anlb.readcycle.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.anlb.readcycle.dto.request.CreateHoldRequestDto;
+import com.anlb.readcycle.dto.response.HoldResponseDto;
+import com.anlb.readcycle.service.IHoldService;
+import com.anlb.readcycle.utils.anotation.ApiMessage;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final IHoldService holdService;
+
+    /**
+     * {@code POST  /holds} : Joins the waitlist of a book that is out of stock.
+     *
+     * When a copy is returned it is lent to the first waiter, who is notified by email.
+     *
+     * @param request a {@link CreateHoldRequestDto} containing the id of the book.
+     * @return a {@link ResponseEntity} containing the new hold and its position in the queue.
+     * @throws InvalidException if the book is in stock or the user already waits for it.
+     */
+    @PostMapping("/holds")
+    @ApiMessage("Create hold")
+    public ResponseEntity<HoldResponseDto> handleCreateHold(@RequestBody CreateHoldRequestDto request)
+            throws InvalidException {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(holdService.handleCreateHold(request));
+    }
+
+    /**
+     * {@code GET  /holds} : Retrieves the waiting holds of the authenticated user.
+     *
+     * @return a {@link ResponseEntity} containing the holds with their position in the queue.
+     * @throws InvalidException if the access token is invalid.
+     */
+    @GetMapping("/holds")
+    @ApiMessage("Get holds by user")
+    public ResponseEntity<List<HoldResponseDto>> handleGetHoldsByUser() throws InvalidException {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(holdService.handleGetHoldsByUser());
+    }
+
+    /**
+     * {@code DELETE  /holds/{id}} : Leaves the waitlist of a book.
+     *
+     * @param id the ID of the hold.
+     * @return a {@link ResponseEntity} with HTTP status {@code 204 No Content}.
+     * @throws InvalidException if the hold is not a waiting hold of the user.
+     */
+    @DeleteMapping("/holds/{id}")
+    @ApiMessage("Cancel hold")
+    public ResponseEntity<Void> handleCancelHold(@PathVariable("id") long id) throws InvalidException {
+        holdService.handleCancelHold(id);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.dto.request.CreateUserRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.request.RegisterRequestDto;
 import com.anlb.readcycle.dto.request.UpdateUserRequestDto;
 import com.anlb.readcycle.dto.response.CreateUserResponseDto;
@@ -46,14 +47,17 @@ public class UserController {
      *
      * @param spec     The filter criteria for querying users.
      * @param pageable The pagination information.
+     * @param pagination The optional keyset cursor.
      * @return A {@link ResponseEntity} containing a paginated list of users.
+     * @throws InvalidException If the cursor is not valid.
      */
     @GetMapping("/users")
     @ApiMessage("Get all users")
-    public ResponseEntity<ResultPaginateDto> getAllUsers(@Filter Specification<User> spec, Pageable pageable) {
+    public ResponseEntity<ResultPaginateDto> getAllUsers(@Filter Specification<User> spec, Pageable pageable,
+            PaginationRequestDto pagination) throws InvalidException {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(userService.handleGetAllUsers(spec, pageable));
+                    .body(userService.handleGetAllUsers(spec, pageable, pagination));
     }
 
     /**
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.service.IActivityLogService;
 import com.anlb.readcycle.service.criteria.ActivityCriteria;
@@ -28,13 +29,15 @@ public class ActivityLogAdminController {
      *
      * @param spec     The {@link Specification} used to filter the activity logs.
      * @param pageable The {@link Pageable} object containing pagination details.
+     * @param pagination The optional paging mode.
      * @return A {@link ResponseEntity} containing a {@link ResultPaginateDto} with the list of activity logs and pagination metadata.
      */
     @GetMapping("/activity-log")
     @ApiMessage("Get all activity logs")
-    public ResponseEntity<ResultPaginateDto> getAllActivityLog(@ParameterObject ActivityCriteria criteria, @ParameterObject Pageable pageable) {
+    public ResponseEntity<ResultPaginateDto> getAllActivityLog(@ParameterObject ActivityCriteria criteria, @ParameterObject Pageable pageable,
+            @ParameterObject PaginationRequestDto pagination) {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(activityLogService.handleGetAllActivityLog(criteria, pageable));
+                    .body(activityLogService.handleGetAllActivityLog(criteria, pageable, pagination));
     }
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.request.UpdateBookRequestDto;
 import com.anlb.readcycle.dto.response.CreateBookResponseDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
@@ -41,14 +42,17 @@ public class BookAdminController {
      *
      * @param spec     The specification used for filtering the books.
      * @param pageable The pagination information.
+     * @param pagination The optional keyset cursor.
      * @return A {@link ResponseEntity} containing a {@link ResultPaginateDto} with the list of books.
+     * @throws InvalidException If the cursor is not valid.
      */
     @GetMapping("/books")
     @ApiMessage("Get all books")
-    public ResponseEntity<ResultPaginateDto> getAllBooks(@ParameterObject BookCriteria criteria, Pageable pageable) {
+    public ResponseEntity<ResultPaginateDto> getAllBooks(@ParameterObject BookCriteria criteria, Pageable pageable,
+            @ParameterObject PaginationRequestDto pagination) throws InvalidException {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(bookService.handleGetAllBooksAdminV2(criteria, pageable));
+                    .body(bookService.handleGetAllBooksAdminV2(criteria, pageable, pagination));
     }
 
     /**
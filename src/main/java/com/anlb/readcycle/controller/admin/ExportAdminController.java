@@ -0,0 +1,78 @@
+package com.anlb.readcycle.controller.admin;
+
+import java.time.LocalDate;
+
+import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.service.IExportService;
+import com.anlb.readcycle.service.criteria.BookCriteria;
+import com.anlb.readcycle.utils.constant.ExportFormatEnum;
+import com.turkraft.springfilter.boot.Filter;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class ExportAdminController {
+
+    private final IExportService exportService;
+
+    /**
+     * {@code GET  /books/export} : Streams the catalog as a CSV or NDJSON file.
+     *
+     * The body is written after the handler returns, row by row from the database,
+     * so the response size is not limited by memory.
+     *
+     * @param criteria the filtering criteria, the same as {@code GET /books}.
+     * @param format   {@code CSV} (default) or {@code NDJSON}.
+     * @return a {@link ResponseEntity} with status {@code 200 (OK)} streaming the export file.
+     */
+    @GetMapping("/books/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@ParameterObject BookCriteria criteria,
+            @RequestParam(name = "format", defaultValue = "CSV") ExportFormatEnum format) {
+        StreamingResponseBody body = output -> exportService.handleExportBooks(criteria, format, output);
+        return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .headers(attachment("books", format))
+                    .body(body);
+    }
+
+    /**
+     * {@code GET  /borrows/export} : Streams the borrow history of all users as a CSV or NDJSON file.
+     *
+     * @param spec   a {@link Specification} of {@link Borrow} for filtering the borrows.
+     * @param format {@code CSV} (default) or {@code NDJSON}.
+     * @return a {@link ResponseEntity} with status {@code 200 (OK)} streaming the export file.
+     */
+    @GetMapping("/borrows/export")
+    public ResponseEntity<StreamingResponseBody> exportBorrows(@Filter Specification<Borrow> spec,
+            @RequestParam(name = "format", defaultValue = "CSV") ExportFormatEnum format) {
+        StreamingResponseBody body = output -> exportService.handleExportBorrows(spec, format, output);
+        return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .headers(attachment("borrows", format))
+                    .body(body);
+    }
+
+    private HttpHeaders attachment(String name, ExportFormatEnum format) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getMediaType()));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "-" + LocalDate.now() + "." + format.getExtension())
+                .build());
+        return headers;
+    }
+}
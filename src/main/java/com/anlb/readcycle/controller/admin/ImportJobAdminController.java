@@ -0,0 +1,118 @@
+package com.anlb.readcycle.controller.admin;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.anlb.readcycle.domain.ImportJob;
+import com.anlb.readcycle.dto.response.ImportJobResponseDto;
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.mapper.ImportJobMapper;
+import com.anlb.readcycle.service.IImportJobService;
+import com.anlb.readcycle.utils.anotation.ApiMessage;
+import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.exception.StorageException;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class ImportJobAdminController {
+
+    private final IImportJobService importJobService;
+    private final ImportJobMapper importJobMapper;
+
+    /**
+     * {@code POST  /books/import} : Uploads a CSV or NDJSON catalog file and starts importing it in the background.
+     *
+     * @param file the catalog file; a CSV file needs a header row with the book field names.
+     * @return a {@link ResponseEntity} with status {@code 201 (Created)} and the queued job.
+     * @throws StorageException if the file is empty or has an unsupported extension.
+     * @throws URISyntaxException if the upload path URI is invalid.
+     * @throws IOException if the file cannot be stored.
+     * @throws InvalidException if the request is not authenticated.
+     */
+    @PostMapping("/books/import")
+    @ApiMessage("Start book import")
+    public ResponseEntity<ImportJobResponseDto> createImportJob(@RequestParam(name = "file") MultipartFile file) throws StorageException, URISyntaxException, IOException, InvalidException {
+        ImportJob job = importJobService.handleCreateImportJob(file);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(importJobMapper.convertImportJobToImportJobResponseDto(job));
+    }
+
+    /**
+     * {@code GET  /books/import/{id}} : Retrieves the status and throughput of an import job.
+     *
+     * @param id the id of the job.
+     * @return a {@link ResponseEntity} with status {@code 200 (OK)} and the job progress.
+     * @throws InvalidException if no job exists with the given id.
+     */
+    @GetMapping("/books/import/{id}")
+    @ApiMessage("Get book import by id")
+    public ResponseEntity<ImportJobResponseDto> getImportJob(@PathVariable("id") long id) throws InvalidException {
+        ImportJob job = importJobService.handleGetImportJobById(id);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(importJobMapper.convertImportJobToImportJobResponseDto(job));
+    }
+
+    /**
+     * {@code GET  /books/import} : Retrieves a paginated list of import jobs.
+     *
+     * @param pageable the pagination information.
+     * @return a {@link ResponseEntity} with status {@code 200 (OK)} and the jobs.
+     */
+    @GetMapping("/books/import")
+    @ApiMessage("Get all book imports")
+    public ResponseEntity<ResultPaginateDto> getAllImportJobs(@ParameterObject Pageable pageable) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(importJobService.handleGetAllImportJobs(pageable));
+    }
+
+    /**
+     * {@code POST  /books/import/{id}/resume} : Restarts a failed import job from its last checkpoint.
+     *
+     * @param id the id of the job.
+     * @return a {@link ResponseEntity} with status {@code 200 (OK)} and the queued job.
+     * @throws InvalidException if the job does not exist or has not failed.
+     */
+    @PostMapping("/books/import/{id}/resume")
+    @ApiMessage("Resume book import")
+    public ResponseEntity<ImportJobResponseDto> resumeImportJob(@PathVariable("id") long id) throws InvalidException {
+        ImportJob job = importJobService.handleResumeImportJob(id);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(importJobMapper.convertImportJobToImportJobResponseDto(job));
+    }
+
+    /**
+     * {@code GET  /books/import/{id}/errors} : Retrieves the rejected rows of an import job with their reasons.
+     *
+     * @param id       the id of the job.
+     * @param pageable the pagination information.
+     * @return a {@link ResponseEntity} with status {@code 200 (OK)} and the rejected rows, in file order.
+     * @throws InvalidException if no job exists with the given id.
+     */
+    @GetMapping("/books/import/{id}/errors")
+    @ApiMessage("Get book import errors")
+    public ResponseEntity<ResultPaginateDto> getImportJobErrors(@PathVariable("id") long id,
+            @ParameterObject Pageable pageable) throws InvalidException {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(importJobService.handleGetImportJobErrors(id, pageable));
+    }
+}
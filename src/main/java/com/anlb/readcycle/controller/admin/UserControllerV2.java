@@ -8,10 +8,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.service.IUserService;
 import com.anlb.readcycle.service.criteria.UserCriteria;
 import com.anlb.readcycle.utils.anotation.ApiMessage;
+import com.anlb.readcycle.utils.exception.InvalidException;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,13 +31,16 @@ public class UserControllerV2 {
      *
      * @param criteria a {@link UserCriteria} object containing filters for querying users.
      * @param pageable a {@link Pageable} object defining pagination and sorting parameters.
+     * @param pagination the optional keyset cursor.
      * @return a {@link ResponseEntity} containing a {@link ResultPaginateDto} with the paginated user list.
+     * @throws InvalidException if the cursor is not valid.
      */
     @GetMapping("/users")
     @ApiMessage("Get all users")
-    public ResponseEntity<ResultPaginateDto> getAllUsers(@ParameterObject UserCriteria criteria, @ParameterObject Pageable pageable) {
+    public ResponseEntity<ResultPaginateDto> getAllUsers(@ParameterObject UserCriteria criteria, @ParameterObject Pageable pageable,
+            @ParameterObject PaginationRequestDto pagination) throws InvalidException {
         return ResponseEntity
                     .status(HttpStatus.OK)
-                    .body(userService.handleGetAllUsers(criteria, pageable));
+                    .body(userService.handleGetAllUsers(criteria, pageable, pagination));
     }
 }
@@ -33,8 +33,11 @@ public abstract class BaseEntity {
 
     @PrePersist
     public void handleBeforeCreate() {
-        this.createdBy = SecurityUtil.getCurrentUserLogin().isPresent()
-                    ? SecurityUtil.getCurrentUserLogin().get() : "";
+        // keep an author set by the caller, e.g. a background import without a security context
+        if (this.createdBy == null || this.createdBy.isEmpty()) {
+            this.createdBy = SecurityUtil.getCurrentUserLogin().isPresent()
+                        ? SecurityUtil.getCurrentUserLogin().get() : "";
+        }
         this.createdAt = Instant.now();
     }
 
@@ -1,6 +1,7 @@
 package com.anlb.readcycle.domain;
 import java.io.Serializable;
 
+import com.anlb.readcycle.config.IdGeneratorInitializer;
 import com.anlb.readcycle.utils.constant.BookStatusEnum;
 
 import jakarta.persistence.Column;
@@ -11,6 +12,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -26,7 +28,9 @@ import lombok.experimental.SuperBuilder;
 @EqualsAndHashCode(callSuper = true) 
 public class Book extends BaseEntity implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "book_id")
+    @TableGenerator(name = "book_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "books", allocationSize = IdGeneratorInitializer.ALLOCATION_SIZE)
     @Column(name = "id")
     private long id;
 
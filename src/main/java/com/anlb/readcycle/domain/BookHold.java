@@ -0,0 +1,61 @@
+package com.anlb.readcycle.domain;
+
+import java.time.Instant;
+
+import com.anlb.readcycle.utils.constant.HoldStatusEnum;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A place of a user in the waitlist of a book. The waitlist of a book is its
+ * {@code WAITING} holds in id order, read from the head through
+ * {@code idx_book_holds_queue}.
+ */
+@Entity
+@Table(name = "book_holds", indexes = {
+        @Index(name = "idx_book_holds_queue", columnList = "book_id, status, id"),
+        @Index(name = "idx_book_holds_user", columnList = "user_id, status") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BookHold extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "book_id")
+    private Book book;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private HoldStatusEnum status;
+
+    // borrow created for the waiter when a returned copy was allocated to the hold
+    @Column(name = "borrow_id")
+    private Long borrowId;
+
+    @Column(name = "fulfilled_at")
+    private Instant fulfilledAt;
+}
@@ -1,5 +1,8 @@
 package com.anlb.readcycle.domain;
 
+import java.time.Instant;
+
+import com.anlb.readcycle.config.IdGeneratorInitializer;
 import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
 
 import jakarta.persistence.Column;
@@ -9,16 +12,19 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "borrows")
+// the overdue sweep walks the un-reminded BORROWED rows in (due_date, id) order
+@Table(name = "borrows", indexes = @Index(name = "idx_borrows_overdue", columnList = "status, reminder_sent_at, due_date, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +32,9 @@ import lombok.NoArgsConstructor;
 public class Borrow extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "borrow_id")
+    @TableGenerator(name = "borrow_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "borrows", allocationSize = IdGeneratorInitializer.ALLOCATION_SIZE)
     @Column(name = "id")
     private long id;
 
@@ -41,4 +49,11 @@ public class Borrow extends BaseEntity {
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private BorrowStatusEnum status;
+
+    @Column(name = "due_date")
+    private Instant dueDate;
+
+    // set once an overdue reminder has been sent, so each borrow is reminded at most once
+    @Column(name = "reminder_sent_at")
+    private Instant reminderSentAt;
 }
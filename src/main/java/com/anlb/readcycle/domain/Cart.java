@@ -1,5 +1,7 @@
 package com.anlb.readcycle.domain;
 
+import com.anlb.readcycle.config.IdGeneratorInitializer;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -8,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -22,7 +25,9 @@ import lombok.NoArgsConstructor;
 @EqualsAndHashCode(callSuper = true) 
 public class Cart extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cart_id")
+    @TableGenerator(name = "cart_id", table = "id_generators", pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "carts", allocationSize = IdGeneratorInitializer.ALLOCATION_SIZE)
     @Column(name = "id")
     private long id;
 
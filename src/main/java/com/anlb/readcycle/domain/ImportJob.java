@@ -0,0 +1,77 @@
+package com.anlb.readcycle.domain;
+
+import java.time.Instant;
+
+import com.anlb.readcycle.utils.constant.ImportFormatEnum;
+import com.anlb.readcycle.utils.constant.ImportJobStatusEnum;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ImportJob extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format")
+    private ImportFormatEnum format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ImportJobStatusEnum status;
+
+    @Column(name = "chunk_size")
+    private int chunkSize;
+
+    // checkpoint: leading rows of the file whose chunks are all written; a resumed run skips them
+    @Column(name = "committed_rows")
+    private long committedRows;
+
+    @Column(name = "count_success")
+    private long countSuccess;
+
+    @Column(name = "count_error")
+    private long countError;
+
+    // start of the current (or last) run and the checkpoint it resumed from, for throughput
+    @Column(name = "run_started_at")
+    private Instant runStartedAt;
+
+    @Column(name = "run_start_rows")
+    private long runStartRows;
+
+    // node running the job and until when its claim holds; an expired claim may be taken over
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
@@ -0,0 +1,49 @@
+package com.anlb.readcycle.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A chunk of an import job whose books are written, committed in the same
+ * transaction as the books. A resumed run skips the chunks recorded past the
+ * checkpoint of the job and only adds their counts.
+ */
+@Entity
+@Table(name = "import_job_chunks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_import_job_chunks", columnNames = { "job_id", "first_row" }) })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ImportJobChunk extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    @Column(name = "job_id")
+    private long jobId;
+
+    // 1-based position of the first row of the chunk in the file
+    @Column(name = "first_row")
+    private long firstRow;
+
+    @Column(name = "row_count")
+    private int rowCount;
+
+    @Column(name = "count_success")
+    private int countSuccess;
+
+    @Column(name = "count_error")
+    private int countError;
+}
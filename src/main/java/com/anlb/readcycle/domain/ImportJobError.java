@@ -0,0 +1,45 @@
+package com.anlb.readcycle.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of an import job that was rejected, committed in the same transaction as
+ * the rest of its chunk, so the job keeps every rejected row with its reason.
+ */
+@Entity
+@Table(name = "import_job_errors", indexes = {
+        @Index(name = "idx_import_job_errors_job", columnList = "job_id, file_row") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ImportJobError extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private long id;
+
+    @Column(name = "job_id")
+    private long jobId;
+
+    // 1-based position of the row in the file
+    @Column(name = "file_row")
+    private long fileRow;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+}
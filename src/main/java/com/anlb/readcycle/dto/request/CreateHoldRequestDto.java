@@ -0,0 +1,12 @@
+package com.anlb.readcycle.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateHoldRequestDto {
+    private Long bookId;
+}
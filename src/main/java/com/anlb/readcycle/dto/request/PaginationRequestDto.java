@@ -0,0 +1,31 @@
+package com.anlb.readcycle.dto.request;
+
+import com.anlb.readcycle.utils.constant.PagingModeEnum;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Optional paging parameters accepted by the list endpoints next to the usual
+ * {@code page}/{@code size}/{@code sort}.
+ *
+ * Passing {@code cursor} (empty for the first page) switches the listing to keyset
+ * mode: rows are fetched after the position encoded in the cursor and the next
+ * cursor is returned in {@code meta.nextCursor}.
+ *
+ * {@code paging} selects how offset pages report their size, see {@link PagingModeEnum}.
+ */
+@Getter
+@Setter
+public class PaginationRequestDto {
+    private String cursor;
+    private PagingModeEnum paging;
+
+    public boolean usesCursor() {
+        return cursor != null;
+    }
+
+    public PagingModeEnum getPaging() {
+        return paging == null ? PagingModeEnum.EXACT : paging;
+    }
+}
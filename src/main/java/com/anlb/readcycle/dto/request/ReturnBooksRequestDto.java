@@ -0,0 +1,14 @@
+package com.anlb.readcycle.dto.request;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReturnBooksRequestDto {
+    private List<Long> borrowIds;
+}
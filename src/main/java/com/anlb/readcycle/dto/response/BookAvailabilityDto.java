@@ -0,0 +1,23 @@
+package com.anlb.readcycle.dto.response;
+
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Stock of a book as pushed on the availability stream; {@code active} is
+ * {@code false} once the book has been deactivated or deleted.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookAvailabilityDto {
+    private long bookId;
+    private int quantity;
+    private BookStatusEnum status;
+    private boolean active;
+}
@@ -0,0 +1,40 @@
+package com.anlb.readcycle.dto.response;
+
+import java.time.Instant;
+
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Row of the catalog export. Field names match {@code CreateBookRequestDto}, so an
+ * exported file can be imported again.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({ "id", "category", "title", "author", "publisher", "thumb", "description", "quantity",
+        "status", "active", "createdAt", "createdBy", "updatedAt", "updatedBy" })
+public class BookExportDto {
+    private long id;
+    private String category;
+    private String title;
+    private String author;
+    private String publisher;
+    private String thumb;
+    private String description;
+    private int quantity;
+    private BookStatusEnum status;
+    private boolean isActive;
+
+    private Instant createdAt;
+    private String createdBy;
+
+    private Instant updatedAt;
+    private String updatedBy;
+}
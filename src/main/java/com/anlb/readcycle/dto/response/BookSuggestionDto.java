@@ -0,0 +1,20 @@
+package com.anlb.readcycle.dto.response;
+
+import com.anlb.readcycle.utils.constant.SuggestionTypeEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSuggestionDto {
+    private String value;
+    private SuggestionTypeEnum type;
+
+    // number of active books with this title or author
+    private int count;
+}
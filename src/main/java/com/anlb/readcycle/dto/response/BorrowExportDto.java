@@ -0,0 +1,36 @@
+package com.anlb.readcycle.dto.response;
+
+import java.time.Instant;
+
+import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Row of the borrow history export: the borrow with the ids and display columns
+ * of its user and book flattened in.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({ "id", "userId", "userEmail", "bookId", "bookTitle", "status",
+        "createdAt", "createdBy", "updatedAt", "updatedBy" })
+public class BorrowExportDto {
+    private long id;
+    private long userId;
+    private String userEmail;
+    private long bookId;
+    private String bookTitle;
+    private BorrowStatusEnum status;
+
+    private Instant createdAt;
+    private String createdBy;
+
+    private Instant updatedAt;
+    private String updatedBy;
+}
@@ -2,8 +2,6 @@ package com.anlb.readcycle.dto.response;
 
 import java.time.Instant;
 
-import com.anlb.readcycle.domain.Book;
-import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
 
 import lombok.AllArgsConstructor;
@@ -18,12 +16,23 @@ import lombok.Setter;
 public class BorrowResponseDto {
     private long id;
     private BorrowStatusEnum status;
-    private Book book;
-    private User user;
+    private BookSummaryDto book;
+    private Borrower user;
+    private Instant dueDate;
 
     private Instant createdAt;
     private String createdBy;
 
     private Instant updatedAt;
     private String updatedBy;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Borrower {
+        private long id;
+        private String name;
+        private String email;
+    }
 }
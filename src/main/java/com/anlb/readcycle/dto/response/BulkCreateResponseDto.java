@@ -1,5 +1,8 @@
 package com.anlb.readcycle.dto.response;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,4 +15,27 @@ import lombok.Setter;
 public class BulkCreateResponseDto {
     private int countSuccess;
     private int countError;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based position of the row in the request
+        private int row;
+        private String title;
+        private String message;
+    }
+
+    public void addError(int row, String title, String message) {
+        countError++;
+        errors.add(new RowError(row, title, message));
+    }
+
+    public void merge(BulkCreateResponseDto other) {
+        countSuccess += other.countSuccess;
+        countError += other.countError;
+        errors.addAll(other.errors);
+    }
 }
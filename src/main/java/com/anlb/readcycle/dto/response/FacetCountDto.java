@@ -0,0 +1,15 @@
+package com.anlb.readcycle.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountDto {
+    private String value;
+    private long count;
+}
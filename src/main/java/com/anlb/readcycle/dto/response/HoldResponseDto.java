@@ -0,0 +1,24 @@
+package com.anlb.readcycle.dto.response;
+
+import java.time.Instant;
+
+import com.anlb.readcycle.utils.constant.HoldStatusEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldResponseDto {
+    private long id;
+    private long bookId;
+    private String bookTitle;
+    private HoldStatusEnum status;
+    // 1 for the next waiter, 0 once the hold is no longer waiting
+    private long position;
+    private Instant createdAt;
+}
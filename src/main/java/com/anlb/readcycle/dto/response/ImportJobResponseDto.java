@@ -0,0 +1,34 @@
+package com.anlb.readcycle.dto.response;
+
+import java.time.Instant;
+
+import com.anlb.readcycle.utils.constant.ImportFormatEnum;
+import com.anlb.readcycle.utils.constant.ImportJobStatusEnum;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ImportJobResponseDto {
+    private long id;
+    private String fileName;
+    private ImportFormatEnum format;
+    private ImportJobStatusEnum status;
+    private int chunkSize;
+
+    // data rows fully processed; a resumed run continues after them
+    private long processedRows;
+    private long countSuccess;
+    private long countError;
+
+    // throughput of the current (or last) run
+    private long elapsedSeconds;
+    private double rowsPerSecond;
+
+    private String errorMessage;
+    private Instant runStartedAt;
+    private Instant finishedAt;
+    private Instant createdAt;
+    private String createdBy;
+}
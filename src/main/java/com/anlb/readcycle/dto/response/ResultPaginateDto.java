@@ -1,5 +1,10 @@
 package com.anlb.readcycle.dto.response;
 
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,12 +14,26 @@ public class ResultPaginateDto {
     private Meta meta;
     private Object result;
 
+    // catalog listing only: facet name -> most frequent values with their book counts
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetCountDto>> facets;
+
     @Getter
     @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class Meta {
-        private int page;
+        private Integer page;
         private int pageSize;
-        private int pages;
-        private long total;
+        private Integer pages;
+        private Long total;
+
+        // slice and estimated modes: whether another page follows
+        private Boolean hasNext;
+
+        // estimated mode: total comes from a periodically refreshed count
+        private Boolean totalEstimated;
+
+        // keyset mode only: pass back as "cursor" to fetch the next window
+        private String nextCursor;
     }
 }
@@ -0,0 +1,17 @@
+package com.anlb.readcycle.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReturnBooksResponseDto {
+    private int countReturned;
+    private List<Long> borrowIds;
+}
@@ -0,0 +1,35 @@
+package com.anlb.readcycle.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published instead of one {@link BookChangedEvent} per row when a single
+ * transaction changes many books, such as an import chunk or a borrow of several
+ * books, so listeners can apply all the changes in one pass.
+ */
+@Getter
+@AllArgsConstructor
+public class BookBatchChangedEvent {
+    private final List<BookChangedEvent> changes;
+
+    // the user who created the books, so their activity logs are written after commit; null for other changes
+    private final User creator;
+
+    public BookBatchChangedEvent(List<BookChangedEvent> changes) {
+        this(changes, null);
+    }
+
+    public static BookBatchChangedEvent created(Collection<Book> books, User creator) {
+        return new BookBatchChangedEvent(books.stream()
+                .map(BookChangedEvent::created)
+                .collect(Collectors.toList()), creator);
+    }
+}
@@ -0,0 +1,35 @@
+package com.anlb.readcycle.event;
+
+import com.anlb.readcycle.domain.Book;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a book row is created, updated, toggled, deleted or has its
+ * stock changed by a borrow/return.
+ *
+ * Both snapshots are detached copies, so listeners may keep or compare them freely.
+ * {@code previous} is {@code null} for a newly created book and {@code current}
+ * is {@code null} for a deleted one. Changes of many books in one transaction are
+ * grouped in a {@link BookBatchChangedEvent} instead, so every listener handles both.
+ */
+@Getter
+@AllArgsConstructor
+public class BookChangedEvent {
+    private final long bookId;
+    private final Book previous;
+    private final Book current;
+
+    public static BookChangedEvent created(Book book) {
+        return new BookChangedEvent(book.getId(), null, book.clone());
+    }
+
+    public static BookChangedEvent updated(Book previous, Book current) {
+        return new BookChangedEvent(current.getId(), previous.clone(), current.clone());
+    }
+
+    public static BookChangedEvent deleted(Book previous) {
+        return new BookChangedEvent(previous.getId(), previous.clone(), null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.anlb.readcycle.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a user borrows one or more books.
+ */
+@Getter
+@AllArgsConstructor
+public class BorrowRecordedEvent {
+    private final long userId;
+    private final List<Long> bookIds;
+}
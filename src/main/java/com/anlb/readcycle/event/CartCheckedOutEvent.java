@@ -0,0 +1,19 @@
+package com.anlb.readcycle.event;
+
+import java.util.List;
+
+import com.anlb.readcycle.service.cache.CartStore;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when the cart rows of a user are taken for a checkout. The checkout
+ * deletes the rows in its transaction; if it rolls back they return to the cart.
+ */
+@Getter
+@AllArgsConstructor
+public class CartCheckedOutEvent {
+    private final long userId;
+    private final List<CartStore.CartEntry> entries;
+}
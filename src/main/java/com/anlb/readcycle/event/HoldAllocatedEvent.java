@@ -0,0 +1,16 @@
+package com.anlb.readcycle.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a returned copy is lent to the next user waiting for the book.
+ */
+@Getter
+@AllArgsConstructor
+public class HoldAllocatedEvent {
+    private final long holdId;
+    private final long borrowId;
+    private final String email;
+    private final String bookTitle;
+}
@@ -0,0 +1,29 @@
+package com.anlb.readcycle.event;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when borrows of a user are opened or returned, with what the
+ * per-user borrowing state needs to follow without reading the database.
+ */
+@Getter
+@AllArgsConstructor
+public class UserBorrowsChangedEvent {
+    private final long userId;
+    private final List<Opened> opened;
+    private final List<Long> returnedBorrowIds;
+
+    public record Opened(long borrowId, long bookId, String category) {
+    }
+
+    public static UserBorrowsChangedEvent opened(long userId, List<Opened> opened) {
+        return new UserBorrowsChangedEvent(userId, opened, List.of());
+    }
+
+    public static UserBorrowsChangedEvent returned(long userId, List<Long> borrowIds) {
+        return new UserBorrowsChangedEvent(userId, List.of(), borrowIds);
+    }
+}
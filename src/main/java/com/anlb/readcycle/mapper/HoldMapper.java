@@ -0,0 +1,21 @@
+package com.anlb.readcycle.mapper;
+
+import org.springframework.stereotype.Service;
+
+import com.anlb.readcycle.domain.BookHold;
+import com.anlb.readcycle.dto.response.HoldResponseDto;
+
+@Service
+public class HoldMapper {
+
+    public HoldResponseDto convertHoldToHoldResponseDto(BookHold hold, long position) {
+        HoldResponseDto response = new HoldResponseDto();
+        response.setId(hold.getId());
+        response.setBookId(hold.getBook().getId());
+        response.setBookTitle(hold.getBook().getTitle());
+        response.setStatus(hold.getStatus());
+        response.setPosition(position);
+        response.setCreatedAt(hold.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,46 @@
+package com.anlb.readcycle.mapper;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.stereotype.Service;
+
+import com.anlb.readcycle.domain.ImportJob;
+import com.anlb.readcycle.dto.response.ImportJobResponseDto;
+
+@Service
+public class ImportJobMapper {
+
+    /**
+     * Converts an {@link ImportJob} entity to an {@link ImportJobResponseDto},
+     * computing the throughput of its current or last run.
+     *
+     * @param job The {@link ImportJob} entity to be converted.
+     * @return An {@link ImportJobResponseDto} containing the job progress.
+     */
+    public ImportJobResponseDto convertImportJobToImportJobResponseDto(ImportJob job) {
+        ImportJobResponseDto response = new ImportJobResponseDto();
+        response.setId(job.getId());
+        response.setFileName(job.getFileName());
+        response.setFormat(job.getFormat());
+        response.setStatus(job.getStatus());
+        response.setChunkSize(job.getChunkSize());
+        response.setProcessedRows(job.getCommittedRows());
+        response.setCountSuccess(job.getCountSuccess());
+        response.setCountError(job.getCountError());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setRunStartedAt(job.getRunStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setCreatedBy(job.getCreatedBy());
+
+        if (job.getRunStartedAt() != null) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            long elapsedMillis = Math.max(0, Duration.between(job.getRunStartedAt(), end).toMillis());
+            long rows = job.getCommittedRows() - job.getRunStartRows();
+            response.setElapsedSeconds(elapsedMillis / 1000);
+            response.setRowsPerSecond(elapsedMillis == 0 ? 0 : rows * 1000.0 / elapsedMillis);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,33 @@
+package com.anlb.readcycle.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.anlb.readcycle.domain.BookHold;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.utils.constant.HoldStatusEnum;
+
+@Repository
+public interface BookHoldRepository extends JpaRepository<BookHold, Long> {
+    boolean existsByUserIdAndBookIdAndStatus(long userId, long bookId, HoldStatusEnum status);
+    List<BookHold> findByUserAndStatusOrderByIdAsc(User user, HoldStatusEnum status);
+
+    // head of the queue through idx_book_holds_queue; locking reads the latest committed holds, not the snapshot
+    @Query(value = "SELECT * FROM book_holds WHERE book_id = :bookId AND status = 'WAITING' "
+            + "ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<BookHold> findFirstWaitingForUpdate(@Param("bookId") long bookId, @Param("limit") int limit);
+
+    @Query("SELECT COUNT(h) FROM BookHold h WHERE h.book.id = :bookId "
+            + "AND h.status = com.anlb.readcycle.utils.constant.HoldStatusEnum.WAITING AND h.id <= :id")
+    long countWaitingUpTo(@Param("bookId") long bookId, @Param("id") long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE BookHold h SET h.status = com.anlb.readcycle.utils.constant.HoldStatusEnum.CANCELLED "
+            + "WHERE h.id = :id AND h.user.id = :userId AND h.status = com.anlb.readcycle.utils.constant.HoldStatusEnum.WAITING")
+    int cancelWaiting(@Param("id") long id, @Param("userId") long userId);
+}
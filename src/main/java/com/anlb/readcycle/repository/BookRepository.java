@@ -1,17 +1,73 @@
 package com.anlb.readcycle.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
+import com.anlb.readcycle.repository.projection.BookFacetView;
+import com.anlb.readcycle.repository.projection.BookStampView;
+import com.anlb.readcycle.repository.projection.BookTextView;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>{
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom {
     Optional<Book> findByIdAndIsActive(long id, boolean isActive);
     List<Book> findAllByIsActive(boolean isActive);
     Book findByTitle(String title);
+
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author, b.category AS category, "
+            + "b.publisher AS publisher, b.isActive AS active FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<BookTextView> findTextViewsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT b.id AS id, b.category AS category, b.author AS author, b.quantity AS quantity, "
+            + "b.isActive AS active FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<BookFacetView> findFacetViewsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(b.updatedAt, b.createdAt) FROM Book b WHERE b.id = :id AND b.isActive = true")
+    Optional<Instant> findActiveStampById(@Param("id") long id);
+
+    // hard deletes only move the count, bulk inserts only the creation time
+    @Query("SELECT COUNT(b) AS books, MAX(b.createdAt) AS lastCreatedAt, MAX(b.updatedAt) AS lastUpdatedAt FROM Book b")
+    BookStampView findCatalogStamp();
+
+    @Query("SELECT new com.anlb.readcycle.dto.response.BookSummaryDto(b.id, b.category, b.title, b.author, "
+            + "b.publisher, b.thumb, b.quantity, b.status, b.isActive, b.createdAt, b.createdBy, b.updatedAt, b.updatedBy) "
+            + "FROM Book b WHERE b.id IN :ids")
+    List<BookSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // rows are locked in id order, so two requests sharing books cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // status is assigned first: MySQL evaluates SET left to right, so the CASE must still see the old quantity
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.status = CASE WHEN b.quantity <= :count "
+            + "THEN com.anlb.readcycle.utils.constant.BookStatusEnum.UNAVAILABLE ELSE b.status END, "
+            + "b.quantity = b.quantity - :count, b.updatedAt = :updatedAt, b.updatedBy = :updatedBy "
+            + "WHERE b.id IN :ids AND b.quantity >= :count")
+    int decrementQuantities(@Param("ids") Collection<Long> ids, @Param("count") int count,
+            @Param("updatedAt") Instant updatedAt, @Param("updatedBy") String updatedBy);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Book b SET b.status = com.anlb.readcycle.utils.constant.BookStatusEnum.AVAILABLE, "
+            + "b.quantity = b.quantity + :count, b.updatedAt = :updatedAt, b.updatedBy = :updatedBy WHERE b.id IN :ids")
+    int incrementQuantities(@Param("ids") Collection<Long> ids, @Param("count") int count,
+            @Param("updatedAt") Instant updatedAt, @Param("updatedBy") String updatedBy);
+
+    @Query("SELECT b.title FROM Book b WHERE b.title IN :titles")
+    List<String> findTitlesIn(@Param("titles") Collection<String> titles);
 }
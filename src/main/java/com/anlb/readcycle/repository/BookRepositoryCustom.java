@@ -0,0 +1,27 @@
+package com.anlb.readcycle.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.dto.response.BookExportDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
+
+/**
+ * Specification queries of {@link BookRepository} that select {@link BookSummaryDto}
+ * rows instead of whole {@link Book} entities, so list pages never read the description,
+ * the streaming export query and the detach of entities changed by bulk updates.
+ */
+public interface BookRepositoryCustom {
+    Page<BookSummaryDto> findSummaries(Specification<Book> spec, Pageable pageable);
+    Slice<BookSummaryDto> findSummarySlice(Specification<Book> spec, Pageable pageable);
+    List<BookSummaryDto> findSummaries(Specification<Book> spec, Sort sort, int limit);
+    Stream<BookExportDto> streamForExport(Specification<Book> spec);
+    void detach(Book book);
+}
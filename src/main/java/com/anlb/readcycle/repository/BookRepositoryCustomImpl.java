@@ -0,0 +1,185 @@
+package com.anlb.readcycle.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.Book_;
+import com.anlb.readcycle.dto.response.BookExportDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    // MySQL Connector/J streams rows one by one only for this fetch size
+    static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Retrieves a page of book summaries matching the specification. The count query
+     * is skipped when the first page is already shorter than the page size.
+     *
+     * @param spec     the filters, may be {@code null}.
+     * @param pageable the page request including its sort.
+     * @return the page of summaries.
+     */
+    @Override
+    public Page<BookSummaryDto> findSummaries(Specification<Book> spec, Pageable pageable) {
+        TypedQuery<BookSummaryDto> query = createSummaryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    /**
+     * Retrieves a page of book summaries without counting: one extra row is read
+     * to know whether a next page exists.
+     *
+     * @param spec     the filters, may be {@code null}.
+     * @param pageable the page request including its sort.
+     * @return the slice of summaries.
+     */
+    @Override
+    public Slice<BookSummaryDto> findSummarySlice(Specification<Book> spec, Pageable pageable) {
+        int size = pageable.getPageSize();
+        List<BookSummaryDto> rows = createSummaryQuery(spec, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    /**
+     * Retrieves at most {@code limit} book summaries matching the specification.
+     *
+     * @param spec  the filters, may be {@code null}.
+     * @param sort  the order of the rows.
+     * @param limit the maximum number of rows.
+     * @return the summaries.
+     */
+    @Override
+    public List<BookSummaryDto> findSummaries(Specification<Book> spec, Sort sort, int limit) {
+        return createSummaryQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Streams every book matching the specification in id order, description included.
+     *
+     * Rows are read through a streaming result set as DTOs, so neither the JDBC driver
+     * nor the persistence context holds more than the current row. The stream must be
+     * consumed and closed inside a transaction, and the connection cannot run other
+     * statements until it is closed.
+     *
+     * @param spec the filters, may be {@code null}.
+     * @return the export rows; the caller closes the stream.
+     */
+    @Override
+    public Stream<BookExportDto> streamForExport(Specification<Book> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookExportDto> query = criteriaBuilder.createQuery(BookExportDto.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(criteriaBuilder.construct(BookExportDto.class,
+                root.get(Book_.id),
+                root.get(Book_.category),
+                root.get(Book_.title),
+                root.get(Book_.author),
+                root.get(Book_.publisher),
+                root.get(Book_.thumb),
+                root.get(Book_.description),
+                root.get(Book_.quantity),
+                root.get(Book_.status),
+                root.get(Book_.isActive),
+                root.get(Book_.createdAt),
+                root.get(Book_.createdBy),
+                root.get(Book_.updatedAt),
+                root.get(Book_.updatedBy)));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get(Book_.id)));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAMING_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Detaches a book from the persistence context, e.g. after a bulk {@code UPDATE}
+     * changed its row, so that setting its new state in memory is not written again.
+     *
+     * @param book a managed book.
+     */
+    @Override
+    public void detach(Book book) {
+        entityManager.detach(book);
+    }
+
+    private TypedQuery<BookSummaryDto> createSummaryQuery(Specification<Book> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookSummaryDto> query = criteriaBuilder.createQuery(BookSummaryDto.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(criteriaBuilder.construct(BookSummaryDto.class,
+                root.get(Book_.id),
+                root.get(Book_.category),
+                root.get(Book_.title),
+                root.get(Book_.author),
+                root.get(Book_.publisher),
+                root.get(Book_.thumb),
+                root.get(Book_.quantity),
+                root.get(Book_.status),
+                root.get(Book_.isActive),
+                root.get(Book_.createdAt),
+                root.get(Book_.createdBy),
+                root.get(Book_.updatedAt),
+                root.get(Book_.updatedBy)));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Book> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Book> root = query.from(Book.class);
+        query.select(criteriaBuilder.count(root));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
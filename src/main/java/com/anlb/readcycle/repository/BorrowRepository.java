@@ -1,22 +1,84 @@
 package com.anlb.readcycle.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.domain.Borrow;
 import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.repository.projection.BorrowLockView;
+import com.anlb.readcycle.repository.projection.BorrowPairView;
+import com.anlb.readcycle.repository.projection.OpenBorrowView;
+import com.anlb.readcycle.repository.projection.OverdueKeyView;
+import com.anlb.readcycle.repository.projection.OverdueReminderView;
 import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface BorrowRepository extends JpaRepository<Borrow, Long>, JpaSpecificationExecutor<Borrow> {
+public interface BorrowRepository extends JpaRepository<Borrow, Long>, JpaSpecificationExecutor<Borrow>, BorrowRepositoryCustom {
     Borrow findByUserAndBookAndStatus(User user, Book book, BorrowStatusEnum borrowed);
     List<Borrow> findByUserAndStatus(User user, BorrowStatusEnum borrowed);
 
     @Query(value = "SELECT COUNT(*) FROM BORROWS WHERE book_id = ?1 AND status = 'BORROWED'", nativeQuery = true)
     Long countByBook(long id);
+
+    // native so that only the borrow rows are locked, in id order, and not the joined users and books
+    @Query(value = "SELECT id AS id, user_id AS userId, book_id AS bookId, status AS status FROM borrows WHERE id IN :ids "
+            + "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<BorrowLockView> findLockViewsForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT b.id AS id, b.book.id AS bookId, b.book.category AS category FROM Borrow b "
+            + "WHERE b.user.id = :userId AND b.status = com.anlb.readcycle.utils.constant.BorrowStatusEnum.BORROWED")
+    List<OpenBorrowView> findOpenBorrowViewsByUserId(@Param("userId") long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Borrow b SET b.status = :to, b.updatedAt = :updatedAt, b.updatedBy = :updatedBy "
+            + "WHERE b.id IN :ids AND b.status = :from")
+    int updateStatuses(@Param("ids") Collection<Long> ids, @Param("from") BorrowStatusEnum from, @Param("to") BorrowStatusEnum to,
+            @Param("updatedAt") Instant updatedAt, @Param("updatedBy") String updatedBy);
+
+    // fetch size MIN_VALUE makes MySQL Connector/J stream the rows instead of buffering them
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT DISTINCT b.user.id AS userId, b.book.id AS bookId FROM Borrow b")
+    Stream<BorrowPairView> streamBorrowPairs();
+
+    // range scan of idx_borrows_overdue from the keyset position, no sort
+    @Query("SELECT b.id AS id, b.dueDate AS dueDate FROM Borrow b "
+            + "WHERE b.status = com.anlb.readcycle.utils.constant.BorrowStatusEnum.BORROWED AND b.reminderSentAt IS NULL "
+            + "AND b.dueDate < :now AND (b.dueDate > :afterDueDate OR (b.dueDate = :afterDueDate AND b.id > :afterId)) "
+            + "ORDER BY b.dueDate, b.id")
+    List<OverdueKeyView> findOverdueKeysAfter(@Param("now") Instant now, @Param("afterDueDate") Instant afterDueDate,
+            @Param("afterId") long afterId, Pageable pageable);
+
+    // SKIP LOCKED: a borrow claimed by another node is left to it; the conditions are checked again on the latest rows
+    @Query(value = "SELECT b.id AS id, b.due_date AS dueDate, u.email AS email, bk.title AS title FROM borrows b "
+            + "JOIN users u ON u.id = b.user_id JOIN books bk ON bk.id = b.book_id "
+            + "WHERE b.id IN :ids AND b.status = 'BORROWED' AND b.reminder_sent_at IS NULL "
+            + "ORDER BY b.id FOR UPDATE OF b SKIP LOCKED", nativeQuery = true)
+    List<OverdueReminderView> claimOverdueForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Borrow b SET b.reminderSentAt = :sentAt WHERE b.id IN :ids")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt);
+
+    // borrows made before due dates existed; LIMIT keeps each run's share of the backfill bounded
+    @Modifying
+    @Query(value = "UPDATE borrows SET due_date = DATE_ADD(COALESCE(created_at, UTC_TIMESTAMP()), INTERVAL :seconds SECOND) "
+            + "WHERE status = 'BORROWED' AND due_date IS NULL LIMIT :limit", nativeQuery = true)
+    int backfillDueDates(@Param("seconds") long seconds, @Param("limit") int limit);
 }
@@ -0,0 +1,23 @@
+package com.anlb.readcycle.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.dto.response.BorrowExportDto;
+import com.anlb.readcycle.dto.response.BorrowResponseDto;
+
+/**
+ * Specification queries of {@link BorrowRepository} that select flat DTO rows
+ * instead of {@link Borrow} entities with their user and book.
+ */
+public interface BorrowRepositoryCustom {
+    Page<BorrowResponseDto> findHistory(Specification<Borrow> spec, Pageable pageable);
+    List<BorrowResponseDto> findHistory(Specification<Borrow> spec, Sort sort, int limit);
+    Stream<BorrowExportDto> streamForExport(Specification<Borrow> spec);
+}
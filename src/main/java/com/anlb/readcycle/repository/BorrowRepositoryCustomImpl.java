@@ -0,0 +1,200 @@
+package com.anlb.readcycle.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.Book_;
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.domain.Borrow_;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.domain.User_;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
+import com.anlb.readcycle.dto.response.BorrowExportDto;
+import com.anlb.readcycle.dto.response.BorrowResponseDto;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class BorrowRepositoryCustomImpl implements BorrowRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Retrieves a page of the borrow history matching the specification, each row
+     * joined with its user and the summary of its book in the same statement. The
+     * count query is skipped when the first page is already shorter than the page size.
+     *
+     * @param spec     the filters, may be {@code null}.
+     * @param pageable the page request including its sort.
+     * @return the page of history rows.
+     */
+    @Override
+    public Page<BorrowResponseDto> findHistory(Specification<Borrow> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = createHistoryQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(toHistory(query.getResultList()), pageable, () -> count(spec));
+    }
+
+    /**
+     * Retrieves at most {@code limit} history rows matching the specification.
+     *
+     * @param spec  the filters, may be {@code null}.
+     * @param sort  the order of the rows.
+     * @param limit the maximum number of rows.
+     * @return the history rows.
+     */
+    @Override
+    public List<BorrowResponseDto> findHistory(Specification<Borrow> spec, Sort sort, int limit) {
+        return toHistory(createHistoryQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    /**
+     * Streams every borrow matching the specification in id order, joined with the
+     * email of its user and the title of its book.
+     *
+     * Rows are read through a streaming result set as DTOs; see
+     * {@link BookRepositoryCustomImpl#streamForExport} for the constraints on the caller.
+     *
+     * @param spec the filters, may be {@code null}.
+     * @return the export rows; the caller closes the stream.
+     */
+    @Override
+    public Stream<BorrowExportDto> streamForExport(Specification<Borrow> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BorrowExportDto> query = criteriaBuilder.createQuery(BorrowExportDto.class);
+        Root<Borrow> root = query.from(Borrow.class);
+        Join<Borrow, User> user = root.join(Borrow_.user);
+        Join<Borrow, Book> book = root.join(Borrow_.book);
+        query.select(criteriaBuilder.construct(BorrowExportDto.class,
+                root.get(Borrow_.id),
+                user.get(User_.id),
+                user.get(User_.email),
+                book.get(Book_.id),
+                book.get(Book_.title),
+                root.get(Borrow_.status),
+                root.get(Borrow_.createdAt),
+                root.get(Borrow_.createdBy),
+                root.get(Borrow_.updatedAt),
+                root.get(Borrow_.updatedBy)));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get(Borrow_.id)));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, BookRepositoryCustomImpl.STREAMING_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<Tuple> createHistoryQuery(Specification<Borrow> spec, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Borrow> root = query.from(Borrow.class);
+        Join<Borrow, User> user = root.join(Borrow_.user);
+        Join<Borrow, Book> book = root.join(Borrow_.book);
+        // every column of the response, and of the book only its summary: no description
+        query.multiselect(
+                root.get(Borrow_.id),
+                root.get(Borrow_.status),
+                root.get(Borrow_.dueDate),
+                root.get(Borrow_.createdAt),
+                root.get(Borrow_.createdBy),
+                root.get(Borrow_.updatedAt),
+                root.get(Borrow_.updatedBy),
+                user.get(User_.id),
+                user.get(User_.name),
+                user.get(User_.email),
+                book.get(Book_.id),
+                book.get(Book_.category),
+                book.get(Book_.title),
+                book.get(Book_.author),
+                book.get(Book_.publisher),
+                book.get(Book_.thumb),
+                book.get(Book_.quantity),
+                book.get(Book_.status),
+                book.get(Book_.isActive),
+                book.get(Book_.createdAt),
+                book.get(Book_.createdBy),
+                book.get(Book_.updatedAt),
+                book.get(Book_.updatedBy));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static List<BorrowResponseDto> toHistory(List<Tuple> rows) {
+        return rows.stream()
+                .map(row -> new BorrowResponseDto(
+                        row.get(0, Long.class),
+                        row.get(1, BorrowStatusEnum.class),
+                        new BookSummaryDto(
+                                row.get(10, Long.class),
+                                row.get(11, String.class),
+                                row.get(12, String.class),
+                                row.get(13, String.class),
+                                row.get(14, String.class),
+                                row.get(15, String.class),
+                                row.get(16, Integer.class),
+                                row.get(17, BookStatusEnum.class),
+                                row.get(18, Boolean.class),
+                                row.get(19, Instant.class),
+                                row.get(20, String.class),
+                                row.get(21, Instant.class),
+                                row.get(22, String.class)),
+                        new BorrowResponseDto.Borrower(row.get(7, Long.class), row.get(8, String.class), row.get(9, String.class)),
+                        row.get(2, Instant.class),
+                        row.get(3, Instant.class),
+                        row.get(4, String.class),
+                        row.get(5, Instant.class),
+                        row.get(6, String.class)))
+                .collect(Collectors.toList());
+    }
+
+    private long count(Specification<Borrow> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Borrow> root = query.from(Borrow.class);
+        query.select(criteriaBuilder.count(root));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
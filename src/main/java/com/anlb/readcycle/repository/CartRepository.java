@@ -1,8 +1,12 @@
 package com.anlb.readcycle.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.anlb.readcycle.domain.Cart;
@@ -12,4 +16,8 @@ import com.anlb.readcycle.domain.User;
 public interface CartRepository extends JpaRepository<Cart, Long> {
     Cart findByUser(User user);
     List<Cart> findAllByUser(User user);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,22 @@
+package com.anlb.readcycle.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.anlb.readcycle.domain.ImportJobChunk;
+
+@Repository
+public interface ImportJobChunkRepository extends JpaRepository<ImportJobChunk, Long> {
+    List<ImportJobChunk> findByJobIdAndFirstRowGreaterThanOrderByFirstRowAsc(long jobId, long firstRow);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ImportJobChunk c WHERE c.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") long jobId);
+}
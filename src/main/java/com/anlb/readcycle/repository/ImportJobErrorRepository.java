@@ -0,0 +1,13 @@
+package com.anlb.readcycle.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.anlb.readcycle.domain.ImportJobError;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+    Page<ImportJobError> findByJobIdOrderByFileRowAsc(long jobId, Pageable pageable);
+}
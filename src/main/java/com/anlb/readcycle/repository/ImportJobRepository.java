@@ -0,0 +1,37 @@
+package com.anlb.readcycle.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.anlb.readcycle.domain.ImportJob;
+import com.anlb.readcycle.utils.constant.ImportJobStatusEnum;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long>, JpaSpecificationExecutor<ImportJob> {
+    List<ImportJob> findByStatusInOrderByIdAsc(Collection<ImportJobStatusEnum> statuses);
+
+    // a pending job, or a running one whose owner stopped renewing its lease, goes to the first node to update it
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = com.anlb.readcycle.utils.constant.ImportJobStatusEnum.RUNNING, "
+            + "j.leaseOwner = :owner, j.leaseExpiresAt = :until WHERE j.id = :id "
+            + "AND (j.status = com.anlb.readcycle.utils.constant.ImportJobStatusEnum.PENDING "
+            + "OR (j.status = com.anlb.readcycle.utils.constant.ImportJobStatusEnum.RUNNING "
+            + "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)))")
+    int claim(@Param("id") long id, @Param("owner") String owner, @Param("until") Instant until, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.leaseExpiresAt = :until WHERE j.id = :id AND j.leaseOwner = :owner "
+            + "AND j.status = com.anlb.readcycle.utils.constant.ImportJobStatusEnum.RUNNING")
+    int renewLease(@Param("id") long id, @Param("owner") String owner, @Param("until") Instant until);
+}
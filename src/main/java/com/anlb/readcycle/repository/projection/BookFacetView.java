@@ -0,0 +1,12 @@
+package com.anlb.readcycle.repository.projection;
+
+/**
+ * The faceted columns of a book, used to build the in-memory facet counts.
+ */
+public interface BookFacetView {
+    long getId();
+    String getCategory();
+    String getAuthor();
+    int getQuantity();
+    boolean isActive();
+}
@@ -0,0 +1,12 @@
+package com.anlb.readcycle.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * The persisted change stamp of the whole catalog, used to build the listing ETag.
+ */
+public interface BookStampView {
+    long getBooks();
+    Instant getLastCreatedAt();
+    Instant getLastUpdatedAt();
+}
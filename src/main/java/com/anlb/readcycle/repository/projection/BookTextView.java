@@ -0,0 +1,14 @@
+package com.anlb.readcycle.repository.projection;
+
+/**
+ * The searchable text columns of a book, used to (re)build the in-memory
+ * book indexes without loading the description.
+ */
+public interface BookTextView {
+    long getId();
+    String getTitle();
+    String getAuthor();
+    String getCategory();
+    String getPublisher();
+    boolean isActive();
+}
@@ -0,0 +1,11 @@
+package com.anlb.readcycle.repository.projection;
+
+/**
+ * The columns of a borrow a bulk return needs, read while locking the row.
+ */
+public interface BorrowLockView {
+    long getId();
+    long getUserId();
+    long getBookId();
+    String getStatus();
+}
@@ -0,0 +1,10 @@
+package com.anlb.readcycle.repository.projection;
+
+/**
+ * A user and a book they have borrowed at least once, used to rebuild the
+ * in-memory co-borrow statistics.
+ */
+public interface BorrowPairView {
+    long getUserId();
+    long getBookId();
+}
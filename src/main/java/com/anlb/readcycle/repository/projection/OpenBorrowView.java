@@ -0,0 +1,10 @@
+package com.anlb.readcycle.repository.projection;
+
+/**
+ * A {@code BORROWED} borrow of a user, as the borrowing state keeps it.
+ */
+public interface OpenBorrowView {
+    long getId();
+    long getBookId();
+    String getCategory();
+}
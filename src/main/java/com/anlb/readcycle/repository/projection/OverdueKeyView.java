@@ -0,0 +1,11 @@
+package com.anlb.readcycle.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Keyset position of an overdue borrow in the overdue sweep.
+ */
+public interface OverdueKeyView {
+    long getId();
+    Instant getDueDate();
+}
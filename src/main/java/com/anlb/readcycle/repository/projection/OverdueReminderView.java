@@ -0,0 +1,13 @@
+package com.anlb.readcycle.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * What an overdue reminder needs, read while claiming the borrow.
+ */
+public interface OverdueReminderView {
+    long getId();
+    Instant getDueDate();
+    String getEmail();
+    String getTitle();
+}
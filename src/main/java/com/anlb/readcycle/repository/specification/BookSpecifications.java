@@ -9,4 +9,13 @@ public class BookSpecifications {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.equal(root.get("isActive"), true);
     }
+
+    public static Specification<Book> matchesText(String text) {
+        String pattern = "%" + text.trim().toLowerCase() + "%";
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+            criteriaBuilder.like(criteriaBuilder.lower(root.get("title")), pattern),
+            criteriaBuilder.like(criteriaBuilder.lower(root.get("author")), pattern),
+            criteriaBuilder.like(criteriaBuilder.lower(root.get("category")), pattern),
+            criteriaBuilder.like(criteriaBuilder.lower(root.get("publisher")), pattern));
+    }
 }
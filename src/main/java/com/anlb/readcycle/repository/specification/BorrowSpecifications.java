@@ -3,7 +3,9 @@ package com.anlb.readcycle.repository.specification;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.domain.Borrow_;
 import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.domain.User_;
 import com.anlb.readcycle.utils.exception.InvalidException;
 
 public class BorrowSpecifications {
@@ -11,4 +13,10 @@ public class BorrowSpecifications {
         return (root, query, criteriaBuilder) -> 
             criteriaBuilder.equal(root.get("user"), user);
     }
+
+    // compares the user_id column, without joining the users table
+    public static Specification<Borrow> getUserId(long userId) {
+        return (root, query, criteriaBuilder) ->
+            criteriaBuilder.equal(root.get(Borrow_.user).get(User_.id), userId);
+    }
 }
@@ -0,0 +1,47 @@
+package com.anlb.readcycle.repository.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.anlb.readcycle.utils.pagination.KeysetCursor;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+public class KeysetSpecifications {
+
+    /**
+     * Restricts a listing to the rows after the cursor position, i.e.
+     * {@code key > :value OR (key = :value AND id > :lastId)} for an ascending sort.
+     *
+     * MySQL sorts {@code NULL} first ascending and last descending, so null sort
+     * values are seeked accordingly.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static <T> Specification<T> after(KeysetCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor.isStart()) {
+                return null;
+            }
+            boolean ascending = cursor.isAscending();
+            Path<Long> id = root.get(KeysetCursor.ID);
+            Predicate idAfter = ascending
+                    ? criteriaBuilder.greaterThan(id, cursor.getLastId())
+                    : criteriaBuilder.lessThan(id, cursor.getLastId());
+            if (KeysetCursor.ID.equals(cursor.getSortKey())) {
+                return idAfter;
+            }
+
+            Path<Comparable> key = root.get(cursor.getSortKey());
+            Comparable value = cursor.parseValue(key.getJavaType());
+            if (value == null) {
+                Predicate sameKey = criteriaBuilder.and(criteriaBuilder.isNull(key), idAfter);
+                return ascending ? criteriaBuilder.or(sameKey, criteriaBuilder.isNotNull(key)) : sameKey;
+            }
+            Predicate beyond = ascending
+                    ? criteriaBuilder.greaterThan(key, value)
+                    : criteriaBuilder.lessThan(key, value);
+            Predicate seek = criteriaBuilder.or(beyond, criteriaBuilder.and(criteriaBuilder.equal(key, value), idAfter));
+            return ascending ? seek : criteriaBuilder.or(seek, criteriaBuilder.isNull(key));
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.anlb.readcycle.repository.support;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Runs a {@link Specification} as a {@link Slice}: the page is read with one extra
+ * row to know whether a next page exists, and no COUNT query is issued.
+ */
+@Repository
+public class SpecificationSliceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Fetches one page of entities matching the specification without counting them.
+     *
+     * @param domainClass the entity type.
+     * @param spec        the filters, may be {@code null}.
+     * @param pageable    the page request including its sort.
+     * @return the page content and whether more rows follow.
+     */
+    public <T> Slice<T> findSlice(Class<T> domainClass, Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        query.select(root);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        int size = pageable.getPageSize();
+        List<T> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+}
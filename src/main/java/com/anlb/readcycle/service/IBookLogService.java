@@ -1,10 +1,14 @@
 package com.anlb.readcycle.service;
 
+import java.util.List;
+
 import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.utils.exception.InvalidException;
 
 public interface IBookLogService {
     void logCreateBook(Book book) throws InvalidException;
+    void logCreateBooks(User user, List<Book> books);
     void logUpdateBook(Book oldBook, Book newBook);
     void logToggleSoftDeleteBook(long id, boolean oldActive, boolean newActive);
     void logDeleteBook(long id);
@@ -6,7 +6,10 @@ import org.springframework.data.jpa.domain.Specification;
 
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.request.UpdateBookRequestDto;
+import com.anlb.readcycle.dto.response.BookSuggestionDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
 import com.anlb.readcycle.dto.response.BulkCreateResponseDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.service.criteria.BookCriteria;
@@ -18,11 +21,14 @@ public interface IBookService {
     Book handleGetBookByIdAndActive(long id, boolean isActive) throws InvalidException;
     Book handleUpdateBook(UpdateBookRequestDto requestBook) throws InvalidException;
     Book handleSoftDelete(long id) throws InvalidException;
-    ResultPaginateDto handleGetAllBooks(Specification<Book> spec, Pageable pageable);
-    ResultPaginateDto handleGetAllBooksClient(Specification<Book> spec, Pageable pageable);
-    ResultPaginateDto handleGetAllBooksClientV2(BookCriteria criteria, Pageable pageable);
-    ResultPaginateDto handleGetAllBooksAdminV2(BookCriteria criteria, Pageable pageable);
+    ResultPaginateDto handleGetAllBooks(Specification<Book> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
+    ResultPaginateDto handleGetAllBooksClient(Specification<Book> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
+    ResultPaginateDto handleSearchBooksClient(String query, Pageable pageable);
+    List<BookSuggestionDto> handleSuggestBooks(String query, int size);
+    List<BookSummaryDto> handleGetSimilarBooks(long id, int size);
+    ResultPaginateDto handleGetAllBooksClientV2(BookCriteria criteria, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
+    ResultPaginateDto handleGetAllBooksAdminV2(BookCriteria criteria, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
     void handleDeleteBookById(long id);
-    BulkCreateResponseDto handleBulkCreateBooksbooks(List<CreateBookRequestDto> books);
+    BulkCreateResponseDto handleBulkCreateBooksbooks(List<CreateBookRequestDto> books) throws InvalidException;
     Book handleGetBookByTitle(String title);
 }
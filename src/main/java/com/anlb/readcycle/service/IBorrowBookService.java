@@ -9,14 +9,19 @@ import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.domain.Borrow;
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.dto.request.CreateBorrowBookRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
+import com.anlb.readcycle.dto.request.ReturnBooksRequestDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.dto.response.ReturnBooksResponseDto;
 import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
 import com.anlb.readcycle.utils.exception.InvalidException;
 
 public interface IBorrowBookService {
     List<Borrow> handleBorrowBook(CreateBorrowBookRequestDto reqBorrow) throws InvalidException;
+    List<Borrow> handleCheckout() throws InvalidException;
     Borrow handleFindBorrowByUserAndBookAndStatus(User user, Book book, BorrowStatusEnum borrowed);
     List<Borrow> findByUserAndStatus(User user, BorrowStatusEnum borrowed);
-    ResultPaginateDto handleGetHistoryByUser(Specification<Borrow> spec, Pageable pageable) throws InvalidException;
+    ResultPaginateDto handleGetHistoryByUser(Specification<Borrow> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
 	Borrow handleReturnBook(Borrow borrow) throws InvalidException;
+    ReturnBooksResponseDto handleReturnBooks(ReturnBooksRequestDto request) throws InvalidException;
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.anlb.readcycle.service;
 
+import java.util.Map;
+
 import com.anlb.readcycle.domain.User;
 
 public interface IEmailService {
     void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml);
     void sendEmailFromTemplateSync(User user, String subject, String templateName);
+    void sendEmailFromTemplateSync(String to, String subject, String templateName, Map<String, Object> variables);
 }
@@ -0,0 +1,15 @@
+package com.anlb.readcycle.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.service.criteria.BookCriteria;
+import com.anlb.readcycle.utils.constant.ExportFormatEnum;
+
+public interface IExportService {
+    void handleExportBooks(BookCriteria criteria, ExportFormatEnum format, OutputStream output) throws IOException;
+    void handleExportBorrows(Specification<Borrow> spec, ExportFormatEnum format, OutputStream output) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.anlb.readcycle.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 
 import org.springframework.web.multipart.MultipartFile;
@@ -11,5 +12,7 @@ public interface IFileService {
     void createDirectory(String folder) throws URISyntaxException;
     String store(MultipartFile file) throws URISyntaxException, IOException;
     void validationFile(MultipartFile file) throws StorageException;
+    void validationImportFile(MultipartFile file) throws StorageException;
+    InputStream load(String fileName) throws URISyntaxException, IOException;
     void delete(String fileName) throws URISyntaxException, StorageException, IOException;
 }
@@ -0,0 +1,15 @@
+package com.anlb.readcycle.service;
+
+import java.util.List;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.dto.request.CreateHoldRequestDto;
+import com.anlb.readcycle.dto.response.HoldResponseDto;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+public interface IHoldService {
+    HoldResponseDto handleCreateHold(CreateHoldRequestDto request) throws InvalidException;
+    List<HoldResponseDto> handleGetHoldsByUser() throws InvalidException;
+    void handleCancelHold(long id) throws InvalidException;
+    int handleAllocateReturnedCopies(Book book, int copies);
+}
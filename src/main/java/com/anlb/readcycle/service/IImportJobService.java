@@ -0,0 +1,20 @@
+package com.anlb.readcycle.service;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.anlb.readcycle.domain.ImportJob;
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.exception.StorageException;
+
+public interface IImportJobService {
+    ImportJob handleCreateImportJob(MultipartFile file) throws StorageException, URISyntaxException, IOException, InvalidException;
+    ImportJob handleGetImportJobById(long id) throws InvalidException;
+    ResultPaginateDto handleGetAllImportJobs(Pageable pageable);
+    ImportJob handleResumeImportJob(long id) throws InvalidException;
+    ResultPaginateDto handleGetImportJobErrors(long id, Pageable pageable) throws InvalidException;
+}
@@ -6,6 +6,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.dto.request.ChangePasswordRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.request.UpdateUserRequestDto;
 import com.anlb.readcycle.dto.response.LoginResponseDto;
 import com.anlb.readcycle.dto.response.LoginResponseDto.UserGetAccount;
@@ -28,7 +29,7 @@ public interface IUserService {
     void handleUpdateRefreshTokenIntoUser(String refreshToken, String email) throws InvalidException;
     void handleGetUserByRefreshTokenAndEmail(String refreshToken, Jwt decodedToken) throws InvalidException;
     LoginResponseDto generateLoginResponseFromToken (Jwt decodedToken) throws InvalidException;
-    ResultPaginateDto handleGetAllUsers(Specification<User> spec, Pageable pageable);
+    ResultPaginateDto handleGetAllUsers(Specification<User> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
     UserGetAccount getCurrentUserAccount() throws InvalidException;
     UserGetAccount convertUserLoginToUserGetAccount(UserLogin userLogin);
     User handleGetUserById(long id) throws InvalidException;
@@ -36,5 +37,5 @@ public interface IUserService {
     void handleDeleteUserById(long id) throws InvalidException;
     User handleSoftDelete(long id) throws InvalidException;
     void handleChangePassword(ChangePasswordRequestDto changePasswordDto) throws InvalidException;
-    ResultPaginateDto handleGetAllUsers(UserCriteria criteria, Pageable pageable);
+    ResultPaginateDto handleGetAllUsers(UserCriteria criteria, Pageable pageable, PaginationRequestDto pagination) throws InvalidException;
 }
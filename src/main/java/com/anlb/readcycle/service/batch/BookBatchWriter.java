@@ -0,0 +1,177 @@
+package com.anlb.readcycle.service.batch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.ImportJobChunk;
+import com.anlb.readcycle.domain.ImportJobError;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.dto.response.BulkCreateResponseDto;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.ImportJobChunkRepository;
+import com.anlb.readcycle.repository.ImportJobErrorRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes one chunk of a book import with a constant number of round trips:
+ * one query for the titles that already exist and the inserts sent as JDBC batches
+ * of {@code hibernate.jdbc.batch_size} rows. The activity logs are written with one
+ * bulk insert once the chunk has committed, see {@link BookBatchChangedEvent}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookBatchWriter {
+
+    private static final int MAX_TITLE = 255;
+    private static final int MAX_MESSAGE = 1000;
+
+    private final BookRepository bookRepository;
+    private final ImportJobChunkRepository importJobChunkRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    /**
+     * Validates and inserts a chunk of books in its own transaction.
+     *
+     * Rows failing validation, whose title already exists or repeats an earlier row
+     * of the chunk are reported as errors; earlier chunks are committed, so their
+     * titles are caught by the existence query.
+     *
+     * @param rows     the rows of the chunk.
+     * @param firstRow the 1-based position of the first row in the whole import.
+     * @param user     the user the activity logs are written for.
+     * @return the inserted count and the per-row errors of the chunk.
+     */
+    @Transactional
+    public BulkCreateResponseDto writeChunk(List<CreateBookRequestDto> rows, int firstRow, User user) {
+        BulkCreateResponseDto result = new BulkCreateResponseDto();
+
+        // row number -> request, in request order
+        Map<Integer, CreateBookRequestDto> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CreateBookRequestDto row = rows.get(i);
+            int rowNumber = firstRow + i;
+            if (row == null) {
+                result.addError(rowNumber, null, "Row is empty");
+                continue;
+            }
+            Set<ConstraintViolation<CreateBookRequestDto>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining(", "));
+                result.addError(rowNumber, row.getTitle(), message);
+                continue;
+            }
+            candidates.put(rowNumber, row);
+        }
+
+        // MySQL compares titles case-insensitively and ignoring trailing spaces
+        Set<String> existing = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            List<String> titles = candidates.values().stream()
+                    .map(CreateBookRequestDto::getTitle)
+                    .distinct()
+                    .collect(Collectors.toList());
+            bookRepository.findTitlesIn(titles).forEach(title -> existing.add(normalizeTitle(title)));
+        }
+
+        List<Book> books = new ArrayList<>(candidates.size());
+        for (Map.Entry<Integer, CreateBookRequestDto> entry : candidates.entrySet()) {
+            CreateBookRequestDto row = entry.getValue();
+            if (!existing.add(normalizeTitle(row.getTitle()))) {
+                result.addError(entry.getKey(), row.getTitle(), "Book title already exists");
+                continue;
+            }
+            books.add(toBook(row, user));
+        }
+
+        bookRepository.saveAll(books);
+        if (!books.isEmpty()) {
+            // also writes the activity logs, after commit
+            eventPublisher.publishEvent(BookBatchChangedEvent.created(books, user));
+        }
+
+        result.setCountSuccess(books.size());
+        log.debug("imported chunk at row {}: {} created, {} rejected", firstRow, books.size(), result.getCountError());
+        return result;
+    }
+
+    /**
+     * Writes a chunk of an import job like {@link #writeChunk(List, int, User)} and
+     * records it as written in the same transaction, with its rejected rows, so a
+     * resumed run can tell which chunks past the checkpoint are already in the
+     * catalog and the job keeps the reason of every rejected row.
+     *
+     * @param jobId    the id of the import job.
+     * @param rows     the rows of the chunk.
+     * @param firstRow the 1-based position of the first row in the file.
+     * @param user     the user the activity logs are written for.
+     * @return the saved record of the chunk with its counts.
+     */
+    @Transactional
+    public ImportJobChunk writeJobChunk(long jobId, List<CreateBookRequestDto> rows, long firstRow, User user) {
+        BulkCreateResponseDto result = writeChunk(rows, (int) firstRow, user);
+        ImportJobChunk chunk = new ImportJobChunk();
+        chunk.setJobId(jobId);
+        chunk.setFirstRow(firstRow);
+        chunk.setRowCount(rows.size());
+        chunk.setCountSuccess(result.getCountSuccess());
+        chunk.setCountError(result.getCountError());
+        chunk.setCreatedBy(user.getEmail());
+        importJobErrorRepository.saveAll(result.getErrors()
+                .stream()
+                .map(error -> toError(jobId, error, user))
+                .collect(Collectors.toList()));
+        return importJobChunkRepository.save(chunk);
+    }
+
+    private ImportJobError toError(long jobId, BulkCreateResponseDto.RowError rowError, User user) {
+        ImportJobError error = new ImportJobError();
+        error.setJobId(jobId);
+        error.setFileRow(rowError.getRow());
+        error.setTitle(StringUtils.abbreviate(rowError.getTitle(), MAX_TITLE));
+        error.setMessage(StringUtils.abbreviate(rowError.getMessage(), MAX_MESSAGE));
+        error.setCreatedBy(user.getEmail());
+        return error;
+    }
+
+    private Book toBook(CreateBookRequestDto row, User user) {
+        Book book = new Book();
+        book.setCreatedBy(user.getEmail());
+        book.setCategory(row.getCategory());
+        book.setTitle(row.getTitle());
+        book.setAuthor(row.getAuthor());
+        book.setPublisher(row.getPublisher());
+        book.setThumb(row.getThumb());
+        book.setDescription(row.getDescription());
+        book.setQuantity(row.getQuantity());
+        book.setStatus(row.getStatus());
+        book.setActive(true);
+        return book;
+    }
+
+    private static String normalizeTitle(String title) {
+        return StringUtils.stripEnd(title, " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,490 @@
+package com.anlb.readcycle.service.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.anlb.readcycle.domain.ImportJob;
+import com.anlb.readcycle.domain.ImportJobChunk;
+import com.anlb.readcycle.domain.ImportJobError;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.repository.ImportJobChunkRepository;
+import com.anlb.readcycle.repository.ImportJobRepository;
+import com.anlb.readcycle.service.IFileService;
+import com.anlb.readcycle.service.IUserService;
+import com.anlb.readcycle.utils.constant.ImportFormatEnum;
+import com.anlb.readcycle.utils.constant.ImportJobStatusEnum;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs catalog import jobs in the background.
+ *
+ * The stored file is parsed as a stream, so only the chunks in flight are held in
+ * memory. Chunks are written in parallel through {@link BookBatchWriter}; a chunk
+ * that shares a title with a chunk still in flight waits for it, so duplicate
+ * detection sees the earlier row. After every chunk the job records how many
+ * leading rows are fully written (the checkpoint). Every written chunk is also
+ * recorded in the transaction of its books, so a job interrupted by a shutdown or
+ * crash resumes after the checkpoint and skips the chunks already written past it.
+ * Rejected rows are stored with the job, see {@link ImportJobError}.
+ *
+ * A chunk whose write fails is tried again up to {@code anlb.book-import.write-attempts}
+ * times with a growing pause. If it still fails, the job fails with the checkpoint
+ * left before the chunk, so resuming the job writes it again.
+ *
+ * A node runs a job only after claiming it with a conditional update, and renews
+ * the claim (a lease of {@code anlb.book-import.lease}) while it runs. Jobs left
+ * pending or whose lease has expired are picked up by the periodic resume of any
+ * node, so a job runs on one node at a time.
+ */
+@Slf4j
+@Service
+public class BookImportRunner {
+
+    private static final int MAX_ERROR_MESSAGE = 1000;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobChunkRepository importJobChunkRepository;
+    private final BookBatchWriter bookBatchWriter;
+    private final IUserService userService;
+    private final IFileService fileService;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final int parallelism;
+    private final Duration lease;
+    private final int writeAttempts;
+    private final Duration retryBackoff;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // jobs queued on this node and not finished yet, so the periodic resume does not queue them twice
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    // one job at a time; each job fans its chunks out to the chunk pool
+    private final ExecutorService jobExecutor;
+    private final ExecutorService chunkExecutor;
+
+    public BookImportRunner(ImportJobRepository importJobRepository,
+            ImportJobChunkRepository importJobChunkRepository,
+            BookBatchWriter bookBatchWriter,
+            IUserService userService,
+            IFileService fileService,
+            ObjectMapper objectMapper,
+            @Value("${anlb.book-import.parallelism:4}") int parallelism,
+            @Value("${anlb.book-import.lease:PT2M}") Duration lease,
+            @Value("${anlb.book-import.write-attempts:3}") int writeAttempts,
+            @Value("${anlb.book-import.retry-backoff:PT1S}") Duration retryBackoff) {
+        this.importJobRepository = importJobRepository;
+        this.importJobChunkRepository = importJobChunkRepository;
+        this.bookBatchWriter = bookBatchWriter;
+        this.userService = userService;
+        this.fileService = fileService;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+        this.parallelism = Math.max(1, parallelism);
+        this.lease = lease;
+        this.writeAttempts = Math.max(1, writeAttempts);
+        this.retryBackoff = retryBackoff;
+        this.jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "book-import"));
+        this.chunkExecutor = Executors.newFixedThreadPool(this.parallelism, runnable -> new Thread(runnable, "book-import-chunk"));
+    }
+
+    /**
+     * Queues a job for execution.
+     *
+     * @param jobId the id of a saved {@link ImportJob}.
+     */
+    public void submit(long jobId) {
+        if (!queued.add(jobId)) {
+            return;
+        }
+        jobExecutor.execute(() -> {
+            try {
+                run(jobId);
+            } finally {
+                queued.remove(jobId);
+            }
+        });
+    }
+
+    /**
+     * Queues the jobs that are pending or running; only those still pending or whose
+     * lease has expired, e.g. after a crash, are claimed when their turn comes.
+     */
+    @Scheduled(fixedDelayString = "${anlb.book-import.resume-interval:PT1M}")
+    public void resumeInterruptedJobs() {
+        List<ImportJob> jobs = importJobRepository.findByStatusInOrderByIdAsc(
+                List.of(ImportJobStatusEnum.RUNNING, ImportJobStatusEnum.PENDING));
+        for (ImportJob job : jobs) {
+            if (!queued.contains(job.getId())) {
+                log.debug("queueing import job {} after row {}", job.getId(), job.getCommittedRows());
+                submit(job.getId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // interrupted jobs stay RUNNING and are resumed once their lease expires
+        jobExecutor.shutdownNow();
+        chunkExecutor.shutdownNow();
+    }
+
+    private void run(long jobId) {
+        Instant now = Instant.now();
+        if (importJobRepository.claim(jobId, nodeId, now.plus(lease), now) == 0) {
+            log.debug("import job {} is finished or claimed by another node", jobId);
+            return;
+        }
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        log.info("running import job {} after row {}", jobId, job.getCommittedRows());
+        job.setRunStartedAt(now);
+        job.setRunStartRows(job.getCommittedRows());
+        job.setFinishedAt(null);
+        job.setErrorMessage(null);
+        ImportProgress progress = new ImportProgress(importJobRepository.save(job));
+
+        try (InputStream input = fileService.load(job.getFileName());
+                MappingIterator<CreateBookRequestDto> rows = openReader(job.getFormat(), input)) {
+            User user = userService.handleGetUserByUsername(job.getCreatedBy());
+            process(progress, user, rows);
+            progress.renewLease();
+            job = progress.job;
+            job.setStatus(ImportJobStatusEnum.COMPLETED);
+            job.setFinishedAt(Instant.now());
+            job.setLeaseOwner(null);
+            job.setLeaseExpiresAt(null);
+            importJobRepository.save(job);
+            importJobChunkRepository.deleteByJobId(jobId);
+            log.info("import job {} completed: {} created, {} rejected", jobId, job.getCountSuccess(), job.getCountError());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("import job {} interrupted after row {}", jobId, progress.job.getCommittedRows());
+        } catch (LeaseLostException e) {
+            log.warn("import job {} stopped after row {}: its lease was taken over", jobId, progress.job.getCommittedRows());
+        } catch (Exception e) {
+            log.error("import job {} failed after row {}", jobId, progress.job.getCommittedRows(), e);
+            try {
+                // let the chunks already submitted finish so the checkpoint covers them
+                progress.drain();
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (LeaseLostException lost) {
+                log.warn("import job {} failed after its lease was taken over", jobId);
+                return;
+            } catch (RuntimeException rejected) {
+                log.warn("import job {}: in-flight chunks could not be awaited", jobId, rejected);
+            }
+            job = progress.job;
+            job.setStatus(ImportJobStatusEnum.FAILED);
+            job.setFinishedAt(Instant.now());
+            job.setLeaseOwner(null);
+            job.setLeaseExpiresAt(null);
+            job.setErrorMessage(StringUtils.abbreviate(e.getMessage(), MAX_ERROR_MESSAGE));
+            importJobRepository.save(job);
+        }
+    }
+
+    private MappingIterator<CreateBookRequestDto> openReader(ImportFormatEnum format, InputStream input) throws IOException {
+        if (format == ImportFormatEnum.CSV) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            return csvMapper.readerFor(CreateBookRequestDto.class).with(schema).readValues(input);
+        }
+        return objectMapper.readerFor(CreateBookRequestDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValues(input);
+    }
+
+    /**
+     * Streams the rows after the checkpoint into chunks and writes them, keeping at
+     * most {@code parallelism} chunks running. Chunks an earlier run wrote past the
+     * checkpoint are skipped; only their recorded counts are added.
+     */
+    private void process(ImportProgress progress, User user, MappingIterator<CreateBookRequestDto> rows)
+            throws IOException, InterruptedException {
+        ImportJob job = progress.job;
+        // first row -> chunk written by an earlier run after the checkpoint
+        Map<Long, ImportJobChunk> written = new HashMap<>();
+        importJobChunkRepository.findByJobIdAndFirstRowGreaterThanOrderByFirstRowAsc(job.getId(), job.getCommittedRows())
+                .forEach(recorded -> written.put(recorded.getFirstRow(), recorded));
+        long skip = job.getCommittedRows();
+        long rowNumber = 0;
+        List<CreateBookRequestDto> chunk = new ArrayList<>(job.getChunkSize());
+        long chunkFirstRow = skip + 1;
+
+        while (rows.hasNextValue()) {
+            rowNumber++;
+            CreateBookRequestDto row;
+            try {
+                row = rows.nextValue();
+            } catch (IOException e) {
+                // reported by the writer as an empty row
+                log.warn("import job {}: row {} could not be parsed: {}", job.getId(), rowNumber, e.getMessage());
+                row = null;
+            }
+            if (rowNumber <= skip) {
+                continue;
+            }
+            ImportJobChunk done = written.get(rowNumber);
+            if (done != null) {
+                if (!chunk.isEmpty()) {
+                    progress.submit(chunk, chunkFirstRow, user);
+                    chunk = new ArrayList<>(job.getChunkSize());
+                }
+                progress.completed(done);
+                skip = rowNumber + done.getRowCount() - 1;
+                chunkFirstRow = skip + 1;
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == job.getChunkSize()) {
+                progress.submit(chunk, chunkFirstRow, user);
+                chunk = new ArrayList<>(job.getChunkSize());
+                chunkFirstRow = rowNumber + 1;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            progress.submit(chunk, chunkFirstRow, user);
+        }
+        progress.awaitAll();
+    }
+
+    /**
+     * Tracks the chunks of one run. Only the job thread touches it; chunk threads
+     * only complete the futures.
+     */
+    private class ImportProgress {
+
+        private ImportJob job;
+        private Instant leaseRenewedAt = Instant.now();
+
+        // first row -> chunk, in file order; the head is removed once done to advance the checkpoint
+        private final TreeMap<Long, ChunkTask> pending = new TreeMap<>();
+
+        // normalized title -> first row of the latest pending chunk holding it
+        private final Map<String, Long> titleOwners = new HashMap<>();
+
+        ImportProgress(ImportJob job) {
+            this.job = job;
+        }
+
+        void submit(List<CreateBookRequestDto> rows, long firstRow, User user) throws InterruptedException {
+            throwIfFailed();
+            while (runningCount() >= parallelism) {
+                awaitAny();
+                throwIfFailed();
+            }
+
+            Set<String> titles = rows.stream()
+                    .filter(row -> row != null && row.getTitle() != null)
+                    .map(row -> normalizeTitle(row.getTitle()))
+                    .collect(Collectors.toSet());
+            CompletableFuture<?>[] dependencies = titles.stream()
+                    .map(titleOwners::get)
+                    .filter(owner -> owner != null)
+                    .distinct()
+                    .map(owner -> pending.get(owner).future)
+                    .filter(future -> !future.isDone())
+                    .toArray(CompletableFuture[]::new);
+
+            long jobId = job.getId();
+            CompletableFuture<ImportJobChunk> future = CompletableFuture.allOf(dependencies)
+                    .thenApplyAsync(ignored -> write(jobId, rows, firstRow, user), chunkExecutor);
+            pending.put(firstRow, new ChunkTask(rows.size(), titles, future));
+            titles.forEach(title -> titleOwners.put(title, firstRow));
+        }
+
+        /**
+         * Adds a chunk already written by an earlier run; it is folded into the
+         * checkpoint in file order like a chunk of this run.
+         */
+        void completed(ImportJobChunk chunk) {
+            pending.put(chunk.getFirstRow(), new ChunkTask(chunk.getRowCount(), Set.of(), CompletableFuture.completedFuture(chunk)));
+        }
+
+        /**
+         * Extends the claim on the job.
+         *
+         * @throws LeaseLostException if another node has taken the job over.
+         */
+        void renewLease() {
+            Instant now = Instant.now();
+            Instant until = now.plus(lease);
+            if (importJobRepository.renewLease(job.getId(), nodeId, until) == 0) {
+                throw new LeaseLostException();
+            }
+            job.setLeaseExpiresAt(until);
+            leaseRenewedAt = now;
+        }
+
+        void awaitAll() throws InterruptedException {
+            while (!pending.isEmpty()) {
+                awaitAny();
+                throwIfFailed();
+            }
+        }
+
+        /**
+         * Waits for the chunks still running after a failure and folds those that
+         * precede the first failed one into the checkpoint.
+         */
+        void drain() throws InterruptedException {
+            while (runningCount() > 0) {
+                awaitAny();
+            }
+        }
+
+        /**
+         * Fails the run with the error of the first failed chunk in file order.
+         */
+        private void throwIfFailed() {
+            for (ChunkTask task : pending.values()) {
+                if (task.future.isCompletedExceptionally()) {
+                    try {
+                        task.future.join();
+                    } catch (CompletionException e) {
+                        if (e.getCause() instanceof RuntimeException cause) {
+                            throw cause;
+                        }
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private long runningCount() {
+            return pending.values().stream().filter(task -> !task.future.isDone()).count();
+        }
+
+        private void awaitAny() throws InterruptedException {
+            CompletableFuture<?>[] running = pending.values().stream()
+                    .map(task -> task.future)
+                    .filter(future -> !future.isDone())
+                    .toArray(CompletableFuture[]::new);
+            if (running.length > 0) {
+                try {
+                    // wake up in time to renew the lease while a slow chunk runs
+                    CompletableFuture.anyOf(running).get(lease.toMillis() / 2, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // nothing finished yet
+                } catch (ExecutionException e) {
+                    // a failed chunk; reported in file order by throwIfFailed
+                }
+            }
+            advanceCheckpoint();
+        }
+
+        /**
+         * Folds the leading written chunks into the job and saves it, so counters
+         * and checkpoint always describe the same rows. A failed chunk stops the
+         * checkpoint before its first row.
+         */
+        private void advanceCheckpoint() {
+            boolean advanced = false;
+            while (!pending.isEmpty() && pending.firstEntry().getValue().future.isDone()
+                    && !pending.firstEntry().getValue().future.isCompletedExceptionally()) {
+                Map.Entry<Long, ChunkTask> head = pending.pollFirstEntry();
+                ChunkTask task = head.getValue();
+                ImportJobChunk result = task.future.join();
+                job.setCommittedRows(head.getKey() + task.rowCount - 1);
+                job.setCountSuccess(job.getCountSuccess() + result.getCountSuccess());
+                job.setCountError(job.getCountError() + result.getCountError());
+                task.titles.forEach(title -> titleOwners.remove(title, head.getKey()));
+                advanced = true;
+            }
+            if (advanced) {
+                renewLease();
+                job = importJobRepository.save(job);
+            } else if (Duration.between(leaseRenewedAt, Instant.now()).compareTo(lease.dividedBy(2)) > 0) {
+                renewLease();
+            }
+        }
+    }
+
+    /**
+     * Writes a chunk, trying again with a doubling pause when the transaction fails,
+     * e.g. on a deadlock or a lost connection.
+     *
+     * @throws ChunkWriteException if the last attempt fails too; nothing of the chunk
+     *                             is written then.
+     */
+    private ImportJobChunk write(long jobId, List<CreateBookRequestDto> rows, long firstRow, User user) {
+        Duration backoff = retryBackoff;
+        for (int attempt = 1;; attempt++) {
+            try {
+                return bookBatchWriter.writeJobChunk(jobId, rows, firstRow, user);
+            } catch (RuntimeException e) {
+                if (attempt >= writeAttempts) {
+                    log.error("import job {}: rows {} to {} could not be written", jobId, firstRow, firstRow + rows.size() - 1, e);
+                    throw new ChunkWriteException(firstRow, rows.size(), e);
+                }
+                log.warn("import job {}: writing rows from {} failed (attempt {} of {}): {}",
+                        jobId, firstRow, attempt, writeAttempts, e.getMessage());
+                try {
+                    Thread.sleep(backoff.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new ChunkWriteException(firstRow, rows.size(), e);
+                }
+                backoff = backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private static String normalizeTitle(String title) {
+        return StringUtils.stripEnd(title, " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record ChunkTask(int rowCount, Set<String> titles, CompletableFuture<ImportJobChunk> future) {
+    }
+
+    // a chunk that could not be written; the job fails with its checkpoint before the chunk
+    private static class ChunkWriteException extends RuntimeException {
+        ChunkWriteException(long firstRow, int rowCount, Throwable cause) {
+            super("Rows " + firstRow + " to " + (firstRow + rowCount - 1) + " could not be written: " + cause.getMessage(), cause);
+        }
+    }
+
+    // another node claimed the job after this node's lease expired; this run must stop writing to it
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
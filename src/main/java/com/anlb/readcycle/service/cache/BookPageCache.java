@@ -0,0 +1,157 @@
+package com.anlb.readcycle.service.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.service.criteria.BookCriteria;
+import com.anlb.readcycle.service.criteria.BookCriteriaMatcher;
+import com.anlb.readcycle.utils.constant.PagingModeEnum;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Bounded in-process cache of the public (v2) catalog listing pages.
+ *
+ * Entries are keyed by a normalized {@link BookCriteria} plus the page request and
+ * are dropped after commit of any book change whose old or new state matches the
+ * entry's criteria. Hit, miss, eviction and size metrics are published to the
+ * meter registry under the {@code books.listing} cache name.
+ */
+@Slf4j
+@Service
+public class BookPageCache {
+
+    public static final String CACHE_NAME = "books.listing";
+
+    private final Cache<CacheKey, ResultPaginateDto> cache;
+    private final Counter invalidations;
+
+    // bumped on every change so that a page loaded concurrently with a write is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    public BookPageCache(MeterRegistry meterRegistry,
+            @Value("${anlb.book-cache.max-size:1000}") long maxSize,
+            @Value("${anlb.book-cache.ttl-in-seconds:60}") long ttlInSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlInSeconds))
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Entries removed because a matching book changed")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached page for the given criteria and page request, loading and
+     * storing it on a miss.
+     *
+     * @param criteria the criteria the page is filtered with.
+     * @param pageable the page request.
+     * @param paging   the paging mode, which shapes the page metadata.
+     * @param loader   computes the page on a cache miss.
+     * @return the cached or freshly loaded page.
+     */
+    public ResultPaginateDto get(BookCriteria criteria, Pageable pageable, PagingModeEnum paging, Supplier<ResultPaginateDto> loader) {
+        CacheKey key = new CacheKey(normalize(criteria), pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), paging);
+        ResultPaginateDto page = cache.getIfPresent(key);
+        if (page != null) {
+            return page;
+        }
+
+        long startGeneration = generation.get();
+        page = loader.get();
+        if (generation.get() == startGeneration) {
+            cache.put(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Drops every cached page whose criteria matches the book before or after the change.
+     * Runs after the other listeners so in-memory indexes the listing reads from are
+     * already up to date when pages start being reloaded.
+     *
+     * @param event the committed book change.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate(List.of(event));
+    }
+
+    /**
+     * Drops, in a single scan of the cache, every cached page whose criteria matches
+     * one of the changed books before or after its change.
+     *
+     * @param event the committed changes.
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        invalidate(event.getChanges());
+    }
+
+    private void invalidate(List<BookChangedEvent> changes) {
+        generation.incrementAndGet();
+        int before = cache.asMap().size();
+        cache.asMap().keySet().removeIf(key -> changes.stream()
+                .anyMatch(change -> BookCriteriaMatcher.matches(key.criteria(), change.getPrevious())
+                        || BookCriteriaMatcher.matches(key.criteria(), change.getCurrent())));
+        int removed = before - cache.asMap().size();
+        if (removed > 0) {
+            invalidations.increment(removed);
+            log.debug("{} books changed, invalidated {} cached pages", changes.size(), removed);
+        }
+    }
+
+    /**
+     * Builds the cache key criteria: {@code contains} filters are compared
+     * case-insensitively by the query, so their values are lower-cased.
+     */
+    private BookCriteria normalize(BookCriteria criteria) {
+        BookCriteria normalized = criteria.copy();
+        normalized.setTitle(normalize(normalized.getTitle()));
+        normalized.setCategory(normalize(normalized.getCategory()));
+        normalized.setAuthor(normalize(normalized.getAuthor()));
+        return normalized;
+    }
+
+    private StringFilter normalize(StringFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        if (filter.getContains() != null) {
+            filter.setContains(filter.getContains().toLowerCase(Locale.ROOT));
+        }
+        if (filter.getDoesNotContain() != null) {
+            filter.setDoesNotContain(filter.getDoesNotContain().toLowerCase(Locale.ROOT));
+        }
+        return filter;
+    }
+
+    private record CacheKey(BookCriteria criteria, int page, int pageSize, Sort sort, PagingModeEnum paging) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.anlb.readcycle.service.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.projection.BookStampView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * ETags of the public book responses, derived from the persisted change times
+ * of the books so every node hands out the same tag for the same data.
+ *
+ * A book's tag is its id and last update (or creation) time; the catalog tag is
+ * the number of books and the latest creation and update times. Both are kept
+ * in a small local cache so most conditional GETs are answered without a query.
+ * Changes committed on this node drop the cached stamps at once; changes from
+ * other nodes, or writes that publish no event, are seen once the stamps expire.
+ */
+@Service
+public class BookVersionRegistry {
+
+    private static final String CATALOG = "catalog";
+
+    private final BookRepository bookRepository;
+    private final Cache<Long, Instant> bookStamps;
+    private final Cache<String, String> catalogStamp;
+
+    public BookVersionRegistry(BookRepository bookRepository,
+            @Value("${anlb.book-etag.max-size:10000}") long maxSize,
+            @Value("${anlb.book-etag.ttl-in-seconds:5}") long ttlInSeconds) {
+        this.bookRepository = bookRepository;
+        this.bookStamps = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlInSeconds))
+                .build();
+        this.catalogStamp = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(ttlInSeconds))
+                .build();
+    }
+
+    /**
+     * Returns the strong ETag a conditional GET of a single book is checked against.
+     *
+     * @param bookId the id of the book.
+     * @return the quoted entity tag, or {@code null} if there is no active book with
+     *         that id, so the request is never answered with {@code 304}.
+     */
+    public String getBookETag(long bookId) {
+        Instant stamp = bookStamps.get(bookId, id -> bookRepository.findActiveStampById(id).orElse(null));
+        return stamp == null ? null : toETag(bookId, stamp);
+    }
+
+    /**
+     * Returns the strong ETag of a loaded book, sent with its body.
+     *
+     * @param book the book being returned.
+     * @return the quoted entity tag.
+     */
+    public String getBookETag(Book book) {
+        return toETag(book.getId(), book.getUpdatedAt() != null ? book.getUpdatedAt() : book.getCreatedAt());
+    }
+
+    /**
+     * Returns the strong ETag of the catalog listings; it changes whenever any book
+     * is created, updated or deleted. Read it before loading the page, so a
+     * concurrent change yields a stale tag (one extra download) rather than a stale body.
+     *
+     * @return the quoted entity tag.
+     */
+    public String getCatalogETag() {
+        return catalogStamp.get(CATALOG, key -> {
+            BookStampView stamp = bookRepository.findCatalogStamp();
+            return "\"" + Long.toString(stamp.getBooks(), 36) + "-" + toToken(stamp.getLastCreatedAt())
+                    + "-" + toToken(stamp.getLastUpdatedAt()) + "\"";
+        });
+    }
+
+    /**
+     * Drops the cached stamps of the catalog and of the changed book once its
+     * transaction has committed.
+     *
+     * @param event the committed book change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bookStamps.invalidate(event.getBookId());
+        catalogStamp.invalidateAll();
+    }
+
+    /**
+     * Drops the cached stamps of the catalog and of every book of a committed batch.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        event.getChanges().forEach(change -> bookStamps.invalidate(change.getBookId()));
+        catalogStamp.invalidateAll();
+    }
+
+    private static String toETag(long bookId, Instant stamp) {
+        return "\"" + bookId + "-" + toToken(stamp) + "\"";
+    }
+
+    private static String toToken(Instant instant) {
+        return instant == null ? "0" : Long.toString(instant.getEpochSecond(), 36) + "." + instant.getNano();
+    }
+}
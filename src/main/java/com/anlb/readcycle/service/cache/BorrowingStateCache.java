@@ -0,0 +1,114 @@
+package com.anlb.readcycle.service.cache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.event.UserBorrowsChangedEvent;
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.repository.projection.OpenBorrowView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Books and categories each user currently has borrowed, for the add-to-cart
+ * eligibility check.
+ *
+ * The state of a user is read once with a single query and then follows the
+ * committed {@link UserBorrowsChangedEvent}s. The load runs atomically in the
+ * cache, so a change committed while a user is loading waits for the load and is
+ * applied on top of it. The state is kept as a set of borrow ids, so a change the
+ * load has already read is applied harmlessly a second time. The number of users
+ * kept is bounded by {@code anlb.borrowing-state.max-size}.
+ */
+@Service
+public class BorrowingStateCache {
+
+    public static final String CACHE_NAME = "borrowing.state";
+
+    /**
+     * Immutable borrowing state of a user.
+     */
+    public static final class BorrowingState {
+        private final Map<Long, UserBorrowsChangedEvent.Opened> borrows;
+        private final Set<Long> bookIds = new HashSet<>();
+        private final Set<String> categories = new HashSet<>();
+
+        private BorrowingState(Map<Long, UserBorrowsChangedEvent.Opened> borrows) {
+            this.borrows = borrows;
+            for (UserBorrowsChangedEvent.Opened borrow : borrows.values()) {
+                bookIds.add(borrow.bookId());
+                if (borrow.category() != null) {
+                    categories.add(borrow.category());
+                }
+            }
+        }
+
+        public boolean hasBook(long bookId) {
+            return bookIds.contains(bookId);
+        }
+
+        public boolean hasCategory(String category) {
+            return categories.contains(category);
+        }
+
+        private BorrowingState apply(UserBorrowsChangedEvent event) {
+            Map<Long, UserBorrowsChangedEvent.Opened> next = new HashMap<>(borrows);
+            event.getOpened().forEach(borrow -> next.put(borrow.borrowId(), borrow));
+            event.getReturnedBorrowIds().forEach(next::remove);
+            return new BorrowingState(next);
+        }
+    }
+
+    private final BorrowRepository borrowRepository;
+    private final Cache<Long, BorrowingState> states;
+
+    public BorrowingStateCache(BorrowRepository borrowRepository, MeterRegistry meterRegistry,
+            @Value("${anlb.borrowing-state.max-size:100000}") long maxSize) {
+        this.borrowRepository = borrowRepository;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, states, CACHE_NAME);
+    }
+
+    /**
+     * Returns the borrowing state of a user, loading it on the first call.
+     *
+     * @param userId the user.
+     * @return the books and categories the user currently has borrowed.
+     */
+    public BorrowingState get(long userId) {
+        return states.get(userId, this::load);
+    }
+
+    /**
+     * Applies committed borrows and returns to the state of their user, if kept.
+     *
+     * @param event the committed change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserBorrowsChanged(UserBorrowsChangedEvent event) {
+        // waits for a load of the same user in progress, then applies the change on top of it
+        states.asMap().computeIfPresent(event.getUserId(), (id, state) -> state.apply(event));
+    }
+
+    private BorrowingState load(long userId) {
+        List<OpenBorrowView> rows = borrowRepository.findOpenBorrowViewsByUserId(userId);
+        Map<Long, UserBorrowsChangedEvent.Opened> borrows = new HashMap<>(rows.size());
+        for (OpenBorrowView row : rows) {
+            borrows.put(row.getId(), new UserBorrowsChangedEvent.Opened(row.getId(), row.getBookId(), row.getCategory()));
+        }
+        return new BorrowingState(borrows);
+    }
+}
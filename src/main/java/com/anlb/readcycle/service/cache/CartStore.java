@@ -0,0 +1,336 @@
+package com.anlb.readcycle.service.cache;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.anlb.readcycle.config.IdGeneratorInitializer;
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.event.CartCheckedOutEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory carts with write-behind to the {@code carts} table.
+ *
+ * The carts of a user are an immutable map replaced under the user's key, so reads
+ * are lock-free and writes of one user are serialized without blocking other users.
+ * Every write also records the last state of the cart row in a pending map keyed by
+ * cart id; a scheduled flush drains it into one batched upsert and one delete per
+ * {@code anlb.cart-store.flush-interval}, so repeated writes of a row coalesce into
+ * one statement. A failed flush is retried with the next one. Carts are read back
+ * from the table at startup and flushed at shutdown; a crash loses at most the
+ * adds and removes of the last interval. Checkouts do not go through the
+ * write-behind: their rows are deleted in the checkout transaction, so a
+ * checked out cart can never come back.
+ *
+ * Cart ids are handed out from blocks of the {@code carts} table id generator, the
+ * same pooled blocks Hibernate uses, so only one write in
+ * {@value IdGeneratorInitializer#ALLOCATION_SIZE} touches the database.
+ *
+ * The store is local to the instance: all requests of a user must reach the same one.
+ */
+@Slf4j
+@Service
+public class CartStore {
+
+    public record CartEntry(long id, long userId, long bookId, int sum, Instant createdAt, String createdBy) {
+    }
+
+    // pending marker of a deleted cart row
+    private static final CartEntry DELETED = new CartEntry(0, 0, 0, 0, null, null);
+
+    private static final String UPSERT = "INSERT INTO carts (id, user_id, book_id, sum, created_at, created_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE sum = VALUES(sum)";
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate idTransactionTemplate;
+
+    // user id -> cart id -> entry, in insertion order; values are never mutated
+    private final ConcurrentHashMap<Long, Map<Long, CartEntry>> carts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> owners = new ConcurrentHashMap<>();
+
+    // snapshots of the books in carts, kept current from committed book changes
+    private final ConcurrentHashMap<Long, Book> books = new ConcurrentHashMap<>();
+
+    // cart id -> last state not yet written, DELETED for a removed row
+    private final ConcurrentHashMap<Long, CartEntry> pending = new ConcurrentHashMap<>();
+
+    // current block of ids, guarded by idLock
+    private final Object idLock = new Object();
+    private long nextId = 1;
+    private long lastId = 0;
+
+    // the initializer is injected so that the generator row exists and is past the existing ids
+    public CartStore(BookRepository bookRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, IdGeneratorInitializer idGeneratorInitializer) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.idTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Loads the carts and the books they hold from the database.
+     */
+    @PostConstruct
+    public void rehydrate() {
+        jdbcTemplate.query("SELECT id, user_id, book_id, sum, created_at, created_by FROM carts ORDER BY id", rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            CartEntry entry = new CartEntry(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("book_id"),
+                    rs.getInt("sum"), createdAt == null ? null : createdAt.toInstant(), rs.getString("created_by"));
+            carts.computeIfAbsent(entry.userId(), id -> new LinkedHashMap<>()).put(entry.id(), entry);
+            owners.put(entry.id(), entry.userId());
+        });
+        carts.replaceAll((userId, entries) -> Collections.unmodifiableMap(entries));
+
+        Set<Long> bookIds = new HashSet<>();
+        carts.values().forEach(entries -> entries.values().forEach(entry -> bookIds.add(entry.bookId())));
+        bookRepository.findAllById(bookIds).forEach(book -> books.put(book.getId(), book.clone()));
+        log.info("{} carts of {} users loaded", owners.size(), carts.size());
+    }
+
+    /**
+     * Adds one copy of a book to the cart of a user.
+     *
+     * @param userId    the owner of the cart.
+     * @param bookId    the book.
+     * @param createdBy the login of the owner.
+     * @return the new cart row.
+     * @throws InvalidException if the book does not exist.
+     */
+    public CartEntry add(long userId, long bookId, String createdBy) throws InvalidException {
+        if (!books.containsKey(bookId)) {
+            Book book = bookRepository.findById(bookId)
+                            .orElseThrow(() -> new InvalidException("Book with id: " + bookId + " does not exists"));
+            books.putIfAbsent(bookId, book.clone());
+        }
+        CartEntry entry = new CartEntry(nextId(), userId, bookId, 1, Instant.now(), createdBy);
+        carts.compute(userId, (id, entries) -> {
+            Map<Long, CartEntry> next = entries == null ? new LinkedHashMap<>() : new LinkedHashMap<>(entries);
+            next.put(entry.id(), entry);
+            // recorded under the user's key, so it cannot overtake a concurrent delete of the row
+            pending.put(entry.id(), entry);
+            return Collections.unmodifiableMap(next);
+        });
+        owners.put(entry.id(), userId);
+        return entry;
+    }
+
+    /**
+     * @param userId the owner of the carts.
+     * @return the cart rows of the user, oldest first.
+     */
+    public List<CartEntry> list(long userId) {
+        Map<Long, CartEntry> entries = carts.get(userId);
+        return entries == null ? List.of() : new ArrayList<>(entries.values());
+    }
+
+    /**
+     * @param bookId a book held in a cart.
+     * @return a snapshot of the book.
+     */
+    public Book getBook(long bookId) {
+        return books.get(bookId);
+    }
+
+    /**
+     * Removes cart rows, whoever owns them. Unknown ids are ignored.
+     *
+     * @param ids the ids of the cart rows.
+     */
+    public void delete(Collection<Long> ids) {
+        for (Long id : ids) {
+            Long userId = id == null ? null : owners.get(id);
+            if (userId != null) {
+                remove(userId, Set.of(id), true);
+            }
+        }
+    }
+
+    /**
+     * Takes every row out of the cart of a user for a checkout. The caller deletes
+     * the rows from the table in its own transaction; they are put back if it rolls
+     * back, see {@link CartCheckedOutEvent}.
+     *
+     * Runs under the flush lock and drops the pending writes of the rows taken, so
+     * a flush can no longer write them back after the checkout deleted them.
+     *
+     * @param userId the owner of the cart.
+     * @return the rows taken, oldest first.
+     */
+    public synchronized List<CartEntry> claim(long userId) {
+        Map<Long, CartEntry> entries = carts.get(userId);
+        if (entries == null) {
+            return List.of();
+        }
+        List<CartEntry> claimed = remove(userId, entries.keySet(), false);
+        claimed.forEach(entry -> pending.remove(entry.id()));
+        return claimed;
+    }
+
+    /**
+     * Puts the rows of a failed checkout back into the cart, and writes them again
+     * in case they had not been flushed when they were claimed.
+     *
+     * @param event the rolled back checkout.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onCheckoutRolledBack(CartCheckedOutEvent event) {
+        carts.compute(event.getUserId(), (id, entries) -> {
+            Map<Long, CartEntry> next = new LinkedHashMap<>();
+            event.getEntries().forEach(entry -> next.put(entry.id(), entry));
+            if (entries != null) {
+                next.putAll(entries);
+            }
+            // recorded under the user's key, like add, so it cannot overtake a later delete of the row
+            event.getEntries().forEach(entry -> pending.putIfAbsent(entry.id(), entry));
+            return Collections.unmodifiableMap(next);
+        });
+        event.getEntries().forEach(entry -> owners.put(entry.id(), entry.userId()));
+    }
+
+    /**
+     * Keeps the snapshots of the books in carts current.
+     *
+     * @param event the committed book change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.getCurrent() != null) {
+            books.computeIfPresent(event.getBookId(), (id, book) -> event.getCurrent().clone());
+        }
+    }
+
+    /**
+     * Keeps the snapshots of the books in carts current after a batch change.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    /**
+     * Writes the pending cart rows with one batched upsert and one delete.
+     */
+    @Scheduled(fixedDelayString = "${anlb.cart-store.flush-interval:PT1S}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, CartEntry> drained = new LinkedHashMap<>();
+        for (Long id : pending.keySet()) {
+            CartEntry entry = pending.remove(id);
+            if (entry != null) {
+                drained.put(id, entry);
+            }
+        }
+        List<CartEntry> upserts = drained.values()
+                                        .stream()
+                                        .filter(entry -> entry != DELETED)
+                                        .collect(Collectors.toList());
+        List<Long> deletes = drained.entrySet()
+                                        .stream()
+                                        .filter(entry -> entry.getValue() == DELETED)
+                                        .map(Map.Entry::getKey)
+                                        .collect(Collectors.toList());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!upserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT, upserts, upserts.size(), (ps, entry) -> {
+                        ps.setLong(1, entry.id());
+                        ps.setLong(2, entry.userId());
+                        ps.setLong(3, entry.bookId());
+                        ps.setInt(4, entry.sum());
+                        ps.setTimestamp(5, Timestamp.from(entry.createdAt()));
+                        ps.setString(6, entry.createdBy());
+                    });
+                }
+                if (!deletes.isEmpty()) {
+                    String placeholders = deletes.stream().map(id -> "?").collect(Collectors.joining(", "));
+                    jdbcTemplate.update("DELETE FROM carts WHERE id IN (" + placeholders + ")", deletes.toArray());
+                }
+            });
+            log.debug("cart store flushed {} upserts and {} deletes", upserts.size(), deletes.size());
+        } catch (RuntimeException e) {
+            // retry with the next flush, unless the row has been written again meanwhile
+            drained.forEach(pending::putIfAbsent);
+            log.error("cart store flush of {} rows failed", drained.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private List<CartEntry> remove(long userId, Set<Long> ids, boolean deleteRows) {
+        List<CartEntry> removed = new ArrayList<>();
+        carts.computeIfPresent(userId, (id, entries) -> {
+            Map<Long, CartEntry> next = new LinkedHashMap<>(entries);
+            for (Long cartId : ids) {
+                CartEntry entry = next.remove(cartId);
+                if (entry != null) {
+                    removed.add(entry);
+                    if (deleteRows) {
+                        pending.put(cartId, DELETED);
+                    }
+                }
+            }
+            return next.isEmpty() ? null : Collections.unmodifiableMap(next);
+        });
+        removed.forEach(entry -> owners.remove(entry.id(), userId));
+        return removed;
+    }
+
+    /**
+     * Hands out the next cart id, taking a new block of the {@code carts} generator
+     * when the current one is used up.
+     */
+    private long nextId() {
+        synchronized (idLock) {
+            if (nextId > lastId) {
+                // pooled semantics: the stored value is the upper end of the block handed out
+                long hi = idTransactionTemplate.execute(status -> {
+                    Long value = jdbcTemplate.queryForObject(
+                            "SELECT next_val FROM id_generators WHERE name = 'carts' FOR UPDATE", Long.class);
+                    jdbcTemplate.update("UPDATE id_generators SET next_val = next_val + ? WHERE name = 'carts'",
+                            IdGeneratorInitializer.ALLOCATION_SIZE);
+                    return value;
+                });
+                nextId = hi - IdGeneratorInitializer.ALLOCATION_SIZE + 1;
+                lastId = hi;
+            }
+            return nextId++;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.anlb.readcycle.service.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Approximate row counts per listing and criteria for the {@code ESTIMATED} paging mode.
+ *
+ * The first request for a criteria pays for one COUNT; afterwards the cached value
+ * is served and, once older than the refresh interval, recomputed on the task
+ * executor so no request waits for it again.
+ */
+@Slf4j
+@Service
+public class CountEstimateCache {
+
+    public static final String CACHE_NAME = "listing.counts";
+
+    private final Cache<CountKey, CachedCount> cache;
+    private final TaskExecutor taskExecutor;
+    private final long refreshAfterNanos;
+
+    // keys whose background refresh is queued or running
+    private final Set<CountKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    public CountEstimateCache(MeterRegistry meterRegistry,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${anlb.count-cache.max-size:1000}") long maxSize,
+            @Value("${anlb.count-cache.refresh-after-in-seconds:30}") long refreshAfterInSeconds,
+            @Value("${anlb.count-cache.expire-after-in-seconds:600}") long expireAfterInSeconds) {
+        this.taskExecutor = taskExecutor;
+        this.refreshAfterNanos = Duration.ofSeconds(refreshAfterInSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofSeconds(expireAfterInSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached count of the listing for the given criteria, counting
+     * synchronously only when nothing is cached yet.
+     *
+     * @param listing  the name of the listing, e.g. {@code "books"}.
+     * @param criteria the listing criteria; must implement {@code equals} and not be mutated afterwards.
+     * @param counter  runs the exact count.
+     * @return the last known count.
+     */
+    public long estimate(String listing, Object criteria, LongSupplier counter) {
+        CountKey key = new CountKey(listing, criteria);
+        CachedCount cached = cache.getIfPresent(key);
+        if (cached == null) {
+            long count = counter.getAsLong();
+            cache.put(key, new CachedCount(count, System.nanoTime()));
+            return count;
+        }
+        if (System.nanoTime() - cached.countedAt() > refreshAfterNanos && refreshing.add(key)) {
+            taskExecutor.execute(() -> refresh(key, counter));
+        }
+        return cached.count();
+    }
+
+    private void refresh(CountKey key, LongSupplier counter) {
+        try {
+            cache.put(key, new CachedCount(counter.getAsLong(), System.nanoTime()));
+        } catch (RuntimeException e) {
+            log.warn("refreshing count of {} failed", key.listing(), e);
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    private record CountKey(String listing, Object criteria) {
+    }
+
+    private record CachedCount(long count, long countedAt) {
+    }
+}
@@ -18,6 +18,9 @@ public class BookCriteria implements Serializable, Criteria {
     BooleanFilter isActive;
     Boolean isAdmin;
 
+    // v2 listing: match title/author filters with typo tolerance, ranked by closeness
+    Boolean fuzzy;
+
     public BookCriteria() {
         this.isActive = new BooleanFilter();
         this.isActive.setEquals(true); 
@@ -30,6 +33,7 @@ public class BookCriteria implements Serializable, Criteria {
         this.author = other.author == null ? null : other.author.copy();
         this.isActive = other.isActive == null ? null : other.isActive.copy();
         this.isAdmin = other.isAdmin;
+        this.fuzzy = other.fuzzy;
     }
 
 
@@ -0,0 +1,100 @@
+package com.anlb.readcycle.service.criteria;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.utils.TextTokenizer;
+
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Evaluates a {@link BookCriteria} against a single in-memory {@link Book}.
+ *
+ * Mirrors the predicates built by {@code BookQueryService#createSpecification}
+ * and the {@code contains} search of the {@code BookSearchIndex}. Positive string
+ * filters compare the {@link TextTokenizer#normalize normalized} text, which folds
+ * case and diacritics at least as far as the MySQL collation and exactly like the
+ * index; negative filters only fold case. A {@code true} answer may therefore be
+ * a superset of what either path would return but never misses a row they include.
+ */
+public final class BookCriteriaMatcher {
+
+    private BookCriteriaMatcher() {
+    }
+
+    /**
+     * Checks whether the given book could be part of the result set described by the criteria.
+     *
+     * @param criteria the filtering criteria, {@code null} matches everything.
+     * @param book     the book to test, {@code null} never matches.
+     * @return {@code true} if the book satisfies every filter of the criteria.
+     */
+    public static boolean matches(BookCriteria criteria, Book book) {
+        if (book == null) {
+            return false;
+        }
+        if (criteria == null) {
+            return true;
+        }
+        if (criteria.getIsActive() != null && criteria.getIsActive().getEquals() != null
+                && criteria.getIsActive().getEquals() != book.isActive()) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(criteria.getFuzzy())) {
+            // fuzzy title/author filters also match misspellings: treat them as matching
+            return matches(criteria.getCategory(), book.getCategory());
+        }
+        return matches(criteria.getTitle(), book.getTitle())
+                && matches(criteria.getCategory(), book.getCategory())
+                && matches(criteria.getAuthor(), book.getAuthor());
+    }
+
+    /**
+     * Checks a single string filter against a value, ignoring case and, for the
+     * positive filters, diacritics.
+     *
+     * @param filter the filter, {@code null} matches everything.
+     * @param value  the value to test, may be {@code null}.
+     * @return {@code true} if the value satisfies the filter.
+     */
+    public static boolean matches(StringFilter filter, String value) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.getEquals() != null) {
+            return value != null && TextTokenizer.normalize(value).equals(TextTokenizer.normalize(filter.getEquals()));
+        }
+        if (filter.getIn() != null) {
+            return value != null && filter.getIn()
+                    .stream()
+                    .anyMatch(candidate -> TextTokenizer.normalize(value).equals(TextTokenizer.normalize(candidate)));
+        }
+        if (filter.getSpecified() != null && filter.getSpecified() != (value != null)) {
+            return false;
+        }
+        if (filter.getNotEquals() != null && filter.getNotEquals().equalsIgnoreCase(value)) {
+            return false;
+        }
+        if (filter.getNotIn() != null && value != null && containsIgnoreCase(filter.getNotIn(), value)) {
+            return false;
+        }
+        if (filter.getContains() != null
+                && (value == null || !TextTokenizer.normalize(value).contains(TextTokenizer.normalize(filter.getContains())))) {
+            return false;
+        }
+        if (filter.getDoesNotContain() != null
+                && value != null && upper(value).contains(upper(filter.getDoesNotContain()))) {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        return values.stream().anyMatch(value::equalsIgnoreCase);
+    }
+
+    private static String upper(String value) {
+        return value.toUpperCase(Locale.ROOT);
+    }
+}
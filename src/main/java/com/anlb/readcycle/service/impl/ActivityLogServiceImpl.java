@@ -1,19 +1,25 @@
 package com.anlb.readcycle.service.impl;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.dto.activitylog.ActivityLog;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
 import com.anlb.readcycle.repository.ActivityLogRepository;
 import com.anlb.readcycle.service.IActivityLogService;
+import com.anlb.readcycle.service.cache.CountEstimateCache;
 import com.anlb.readcycle.service.criteria.ActivityCriteria;
 import com.anlb.readcycle.service.query.ActivityLogQueryService;
+import com.anlb.readcycle.utils.constant.PagingModeEnum;
+import com.anlb.readcycle.utils.pagination.SlicePagination;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +29,7 @@ public class ActivityLogServiceImpl implements IActivityLogService {
 
     private final ActivityLogRepository activityLogRepository;
     private final ActivityLogQueryService activityQueryService;
+    private final CountEstimateCache countEstimateCache;
 
     /**
      * Logs an activity for the given user.
@@ -36,15 +43,42 @@ public class ActivityLogServiceImpl implements IActivityLogService {
         activityLogRepository.save(activityLog);
     }
 
+    /**
+     * Logs several activities of the given user with a single bulk insert.
+     *
+     * @param user         The {@link User} who performed the activities.
+     * @param activityLogs The {@link ActivityLog} objects containing activity details.
+     */
+    @Override
+    public void logAll(User user, List<ActivityLog> activityLogs) {
+        if (activityLogs.isEmpty()) {
+            return;
+        }
+        activityLogs.forEach(activityLog -> activityLog.setUsername(user.getEmail()));
+        activityLogRepository.insert(activityLogs);
+    }
+
     /**
      * Retrieves all activity logs.
      *
      * @param spec     The {@link Specification} used to filter the activity logs.
      * @param pageable The {@link Pageable} object containing pagination details.
+     * @param pagination The paging mode; {@code SLICE} and {@code ESTIMATED} skip the exact count.
      * @return A {@link ResultPaginateDto} containing the list of activity logs and pagination metadata.
      */
     @Override
-    public ResultPaginateDto handleGetAllActivityLog(ActivityCriteria activityCriteria, Pageable pageable) {
+    public ResultPaginateDto handleGetAllActivityLog(ActivityCriteria activityCriteria, Pageable pageable, PaginationRequestDto pagination) {
+        PagingModeEnum paging = pagination.getPaging();
+        if (paging != PagingModeEnum.EXACT) {
+            Slice<ActivityLog> slice = activityQueryService.findSliceByCriteria(activityCriteria, pageable);
+            if (paging == PagingModeEnum.SLICE) {
+                return SlicePagination.toResponse(slice, Function.identity());
+            }
+            ActivityCriteria criteria = activityCriteria.copy();
+            long estimate = countEstimateCache.estimate("activity-logs", criteria,
+                    () -> activityQueryService.countByCriteria(criteria));
+            return SlicePagination.toResponse(slice, estimate, Function.identity());
+        }
         Page<ActivityLog> pageActivityLog = activityQueryService.findByCriteria(activityCriteria, pageable);
         ResultPaginateDto response = new ResultPaginateDto();
         ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
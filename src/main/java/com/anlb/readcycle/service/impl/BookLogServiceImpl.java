@@ -2,9 +2,13 @@ package com.anlb.readcycle.service.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.domain.User;
@@ -12,6 +16,8 @@ import com.anlb.readcycle.dto.activitylog.ActivityDescription;
 import com.anlb.readcycle.dto.activitylog.ActivityGroup;
 import com.anlb.readcycle.dto.activitylog.ActivityLog;
 import com.anlb.readcycle.dto.activitylog.ActivityType;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
 import com.anlb.readcycle.service.IActivityLogService;
 import com.anlb.readcycle.service.IBookLogService;
 import com.anlb.readcycle.service.IUserService;
@@ -41,31 +47,7 @@ public class BookLogServiceImpl implements IBookLogService {
                             .orElseThrow(() -> new InvalidException("Access Token invalid"));
         User user = userService.handleGetUserByUsername(email);
         try {
-            List<ActivityDescription> descriptions = new ArrayList<>();
-            descriptions.add(ActivityDescription.from("bookId", String.valueOf(book.getId()), "Book id"));
-            if (!StringUtils.isBlank(book.getCategory())) {
-                descriptions.add(ActivityDescription.from("category", book.getCategory(), "Category"));
-            }
-            if (!StringUtils.isBlank(book.getTitle())) {
-                descriptions.add(ActivityDescription.from("title", book.getTitle(), "Title"));
-            }
-            if (!StringUtils.isBlank(book.getAuthor())) {
-                descriptions.add(ActivityDescription.from("author", book.getAuthor(), "Author"));
-            }
-            if (!StringUtils.isBlank(book.getPublisher())) {
-                descriptions.add(ActivityDescription.from("publisher", book.getPublisher(), "Publisher"));
-            }
-            if (!StringUtils.isBlank(book.getThumb())) {
-                descriptions.add(ActivityDescription.from("thumb", book.getThumb(), "Thumb"));
-            }
-            if (book.getQuantity() != 0) {
-                descriptions.add(ActivityDescription.from("quantity", String.valueOf(book.getQuantity()), "Quantity"));
-            }
-            if (book.getStatus() != null && !StringUtils.isBlank(String.valueOf(book.getStatus()))) {
-                descriptions.add(ActivityDescription.from("status", String.valueOf(book.getStatus()), "Status"));
-            }
-            descriptions.add(ActivityDescription.from("isActive", book.isActive() ? "True" : "False", "Active"));
-
+            List<ActivityDescription> descriptions = describeCreatedBook(book);
             ActivityLog activityLog = ActivityLog.formatLogMessage(ActivityGroup.BOOK, ActivityType.CREATE_BOOK, descriptions);
             activityLogService.log(user, activityLog);
         } catch (Exception e) {
@@ -73,6 +55,45 @@ public class BookLogServiceImpl implements IBookLogService {
         }
     }
 
+    /**
+     * Logs the creation of several books by the same user with a single bulk insert,
+     * so an import resolves the user once and writes one request per chunk.
+     *
+     * @param user  the {@link User} who created the books.
+     * @param books the created books, with their generated ids.
+     */
+    @Override
+    public void logCreateBooks(User user, List<Book> books) {
+        try {
+            List<ActivityLog> activityLogs = new ArrayList<>(books.size());
+            for (Book book : books) {
+                activityLogs.add(ActivityLog.formatLogMessage(ActivityGroup.BOOK, ActivityType.CREATE_BOOK, describeCreatedBook(book)));
+            }
+            activityLogService.logAll(user, activityLogs);
+        } catch (Exception e) {
+            log.error("logging activity error: ", e);
+        }
+    }
+
+    /**
+     * Writes the activity logs of the books created in a committed batch, so a
+     * batch that fails to commit leaves no logs of books that do not exist.
+     *
+     * @param event the committed changes; only those with a creator are logged.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        if (event.getCreator() == null) {
+            return;
+        }
+        List<Book> created = event.getChanges()
+                .stream()
+                .map(BookChangedEvent::getCurrent)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        logCreateBooks(event.getCreator(), created);
+    }
+
     /**
      * Logs the changes made to a book's details by comparing the old and new book objects.
      * 
@@ -181,4 +202,35 @@ public class BookLogServiceImpl implements IBookLogService {
             log.error("logging activity error: ", e);
         }
     }
+
+    /**
+     * Describes every non-empty field of a newly created book.
+     */
+    private List<ActivityDescription> describeCreatedBook(Book book) {
+        List<ActivityDescription> descriptions = new ArrayList<>();
+        descriptions.add(ActivityDescription.from("bookId", String.valueOf(book.getId()), "Book id"));
+        if (!StringUtils.isBlank(book.getCategory())) {
+            descriptions.add(ActivityDescription.from("category", book.getCategory(), "Category"));
+        }
+        if (!StringUtils.isBlank(book.getTitle())) {
+            descriptions.add(ActivityDescription.from("title", book.getTitle(), "Title"));
+        }
+        if (!StringUtils.isBlank(book.getAuthor())) {
+            descriptions.add(ActivityDescription.from("author", book.getAuthor(), "Author"));
+        }
+        if (!StringUtils.isBlank(book.getPublisher())) {
+            descriptions.add(ActivityDescription.from("publisher", book.getPublisher(), "Publisher"));
+        }
+        if (!StringUtils.isBlank(book.getThumb())) {
+            descriptions.add(ActivityDescription.from("thumb", book.getThumb(), "Thumb"));
+        }
+        if (book.getQuantity() != 0) {
+            descriptions.add(ActivityDescription.from("quantity", String.valueOf(book.getQuantity()), "Quantity"));
+        }
+        if (book.getStatus() != null && !StringUtils.isBlank(String.valueOf(book.getStatus()))) {
+            descriptions.add(ActivityDescription.from("status", String.valueOf(book.getStatus()), "Status"));
+        }
+        descriptions.add(ActivityDescription.from("isActive", book.isActive() ? "True" : "False", "Active"));
+        return descriptions;
+    }
 }
@@ -1,42 +1,94 @@
 package com.anlb.readcycle.service.impl;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.User;
 
 import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.request.UpdateBookRequestDto;
-import com.anlb.readcycle.dto.response.BookResponseDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
+import com.anlb.readcycle.dto.response.BookSuggestionDto;
 import com.anlb.readcycle.dto.response.BulkCreateResponseDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
-import com.anlb.readcycle.mapper.BookMapper;
+import com.anlb.readcycle.event.BookChangedEvent;
 import com.anlb.readcycle.repository.BookRepository;
 import com.anlb.readcycle.repository.specification.BookSpecifications;
 import com.anlb.readcycle.service.IBookLogService;
 import com.anlb.readcycle.service.IBookService;
+import com.anlb.readcycle.service.IHoldService;
+import com.anlb.readcycle.service.IUserService;
+import com.anlb.readcycle.service.batch.BookBatchWriter;
+import com.anlb.readcycle.service.cache.BookPageCache;
+import com.anlb.readcycle.service.cache.CountEstimateCache;
 import com.anlb.readcycle.service.criteria.BookCriteria;
+import com.anlb.readcycle.service.criteria.BookCriteriaMatcher;
 import com.anlb.readcycle.service.query.BookQueryService;
+import com.anlb.readcycle.service.recommendation.CoBorrowRecommender;
+import com.anlb.readcycle.service.search.BookFacetCounter;
+import com.anlb.readcycle.service.search.BookFuzzyIndex;
+import com.anlb.readcycle.service.search.BookSearchIndex;
+import com.anlb.readcycle.service.search.BookSuggestIndex;
+import com.anlb.readcycle.service.search.BookTrendingTracker;
+import com.anlb.readcycle.service.search.BookSearchIndex.SearchResult;
+import com.anlb.readcycle.utils.SecurityUtil;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+import com.anlb.readcycle.utils.constant.PagingModeEnum;
 import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.pagination.KeysetPagination;
+import com.anlb.readcycle.utils.pagination.SlicePagination;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import tech.jhipster.service.filter.BooleanFilter;
+import tech.jhipster.service.filter.StringFilter;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class BookServiceImpl implements IBookService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_SIMILAR = 20;
+    private static final int TRENDING_CHUNK_SIZE = 200;
+
     private final BookRepository bookRepository;
-    private final BookMapper bookMapper;
     private final IBookLogService bookLogService;
     private final BookQueryService bookQueryService;
+    private final BookPageCache bookPageCache;
+    private final CountEstimateCache countEstimateCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookFacetCounter bookFacetCounter;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final BookFuzzyIndex bookFuzzyIndex;
+    private final BookTrendingTracker bookTrendingTracker;
+    private final CoBorrowRecommender coBorrowRecommender;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IUserService userService;
+    private final IHoldService holdService;
+    private final BookBatchWriter bookBatchWriter;
+
+    @Value("${anlb.bulk-import.chunk-size:500}")
+    private int bulkChunkSize;
 
     /**
      * Creates a new book and logs the creation event.
@@ -61,6 +113,7 @@ public class BookServiceImpl implements IBookService {
         newBook.setActive(true);
         newBook = bookRepository.save(newBook);
         bookLogService.logCreateBook(newBook);
+        eventPublisher.publishEvent(BookChangedEvent.created(newBook));
         return newBook;
     }
 
@@ -109,6 +162,12 @@ public class BookServiceImpl implements IBookService {
      * request,
      * logs the changes, and then saves the updated book to the repository.
      * </p>
+     *
+     * <p>
+     * The book row is locked for the update. When the quantity is raised, the
+     * added copies are lent to the waitlist first, the same way returned copies
+     * are, and only the rest is put in stock.
+     * </p>
      * 
      * @param requestBook the {@code UpdateBookRequestDto} containing the new book
      *                    details
@@ -117,8 +176,11 @@ public class BookServiceImpl implements IBookService {
      */
     @Override
     public Book handleUpdateBook(UpdateBookRequestDto requestBook) throws InvalidException {
-        Book updateBook = handleGetBookById(requestBook.getId());
+        Book updateBook = bookRepository.findAllByIdForUpdate(List.of(requestBook.getId())).stream()
+                .findFirst()
+                .orElseThrow(() -> new InvalidException("Book with id: " + requestBook.getId() + " does not exists"));
         Book oldBook = updateBook.clone();
+        int restocked = requestBook.getQuantity() - oldBook.getQuantity();
         updateBook.setCategory(requestBook.getCategory());
         updateBook.setTitle(requestBook.getTitle());
         updateBook.setAuthor(requestBook.getAuthor());
@@ -127,8 +189,17 @@ public class BookServiceImpl implements IBookService {
         updateBook.setDescription(requestBook.getDescription());
         updateBook.setQuantity(requestBook.getQuantity());
         updateBook.setStatus(requestBook.getStatus());
+        if (restocked > 0) {
+            int allocated = holdService.handleAllocateReturnedCopies(updateBook, restocked);
+            updateBook.setQuantity(requestBook.getQuantity() - allocated);
+            if (updateBook.getQuantity() == 0) {
+                updateBook.setStatus(BookStatusEnum.UNAVAILABLE);
+            }
+        }
         bookLogService.logUpdateBook(oldBook, updateBook);
-        return bookRepository.save(updateBook);
+        updateBook = bookRepository.save(updateBook);
+        eventPublisher.publishEvent(BookChangedEvent.updated(oldBook, updateBook));
+        return updateBook;
     }
 
     /**
@@ -145,10 +216,13 @@ public class BookServiceImpl implements IBookService {
     @Override
     public Book handleSoftDelete(long id) throws InvalidException {
         Book isDeletedBook = handleGetBookById(id);
+        Book oldBook = isDeletedBook.clone();
         boolean oldActive = isDeletedBook.isActive();
         isDeletedBook.setActive(!isDeletedBook.isActive());
         bookLogService.logToggleSoftDeleteBook(isDeletedBook.getId(), oldActive, isDeletedBook.isActive());
-        return bookRepository.save(isDeletedBook);
+        isDeletedBook = bookRepository.save(isDeletedBook);
+        eventPublisher.publishEvent(BookChangedEvent.updated(oldBook, isDeletedBook));
+        return isDeletedBook;
     }
 
     /**
@@ -158,29 +232,19 @@ public class BookServiceImpl implements IBookService {
      *                 criteria.
      * @param pageable The {@link Pageable} object containing pagination
      *                 information.
+     * @param pagination The optional keyset cursor.
      * @return A {@link ResultPaginateDto} containing the paginated list of books
      *         and associated metadata.
+     * @throws InvalidException if the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetAllBooks(Specification<Book> spec, Pageable pageable) {
-        Page<Book> pageBook = bookRepository.findAll(spec, pageable);
-        ResultPaginateDto response = new ResultPaginateDto();
-        ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
-
-        meta.setPage(pageable.getPageNumber() + 1);
-        meta.setPageSize(pageable.getPageSize());
-
-        meta.setPages(pageBook.getTotalPages());
-        meta.setTotal(pageBook.getTotalElements());
-
-        response.setMeta(meta);
-
-        List<BookResponseDto> listBook = pageBook.getContent()
-                .stream()
-                .map(item -> this.bookMapper.convertBookToBookResponseDto(item))
-                .collect(Collectors.toList());
-        response.setResult(listBook);
-        return response;
+    public ResultPaginateDto handleGetAllBooks(Specification<Book> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
+        if (pagination.usesCursor()) {
+            return KeysetPagination.toResponse(KeysetPagination.fetch(bookRepository::findSummaries, spec, pageable, pagination.getCursor(),
+                    BookQueryService.CURSOR_SORT_KEYS),
+                    pageable, Function.identity());
+        }
+        return getBookSummaryPage(spec, pageable);
     }
 
     /**
@@ -189,13 +253,28 @@ public class BookServiceImpl implements IBookService {
      *
      * @param spec     The specification used to filter books.
      * @param pageable The pagination information including page number and size.
+     * @param pagination The optional keyset cursor.
      * @return A {@link ResultPaginateDto} containing the paginated list of books
      *         and metadata.
+     * @throws InvalidException if the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetAllBooksClient(Specification<Book> spec, Pageable pageable) {
+    public ResultPaginateDto handleGetAllBooksClient(Specification<Book> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
         spec = spec.and(BookSpecifications.isActive());
-        Page<Book> pageBook = bookRepository.findAll(spec, pageable);
+        if (pagination.usesCursor()) {
+            return KeysetPagination.toResponse(KeysetPagination.fetch(bookRepository::findSummaries, spec, pageable, pagination.getCursor(),
+                    BookQueryService.CURSOR_SORT_KEYS),
+                    pageable, Function.identity());
+        }
+        return getBookSummaryPage(spec, pageable);
+    }
+
+    /**
+     * Retrieves an offset page of book summaries matching the given specification.
+     * Only list columns are selected, the description is left in the database.
+     */
+    private ResultPaginateDto getBookSummaryPage(Specification<Book> spec, Pageable pageable) {
+        Page<BookSummaryDto> pageBook = bookRepository.findSummaries(spec, pageable);
         ResultPaginateDto response = new ResultPaginateDto();
         ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
 
@@ -207,27 +286,92 @@ public class BookServiceImpl implements IBookService {
 
         response.setMeta(meta);
 
-        List<BookResponseDto> listBook = pageBook.getContent()
+        response.setResult(pageBook.getContent());
+        return response;
+    }
+
+    /**
+     * Searches active books by free text over title, author, category and publisher.
+     *
+     * Hits are ranked by relevance from the in-memory {@link BookSearchIndex};
+     * only the returned page is loaded from the database. While the index is
+     * still loading, the search falls back to a {@code LIKE} query.
+     *
+     * @param query    The free text query.
+     * @param pageable The pagination information including page number and size.
+     * @return A {@link ResultPaginateDto} containing the matching books ordered by relevance.
+     */
+    @Override
+    public ResultPaginateDto handleSearchBooksClient(String query, Pageable pageable) {
+        if (!bookSearchIndex.isReady()) {
+            return getBookSummaryPage(BookSpecifications.matchesText(query).and(BookSpecifications.isActive()), pageable);
+        }
+        SearchResult result = bookSearchIndex.search(query, true, pageable.getOffset(), pageable.getPageSize());
+        return toSearchResponse(result, pageable);
+    }
+
+    /**
+     * Suggests titles and authors of active books for the text typed so far.
+     *
+     * Answered from the in-memory {@link BookSuggestIndex} only, so it is cheap
+     * enough to call on every keystroke.
+     *
+     * @param query the text typed so far.
+     * @param size  the maximum number of suggestions, capped at {@value #MAX_SUGGESTIONS}.
+     * @return the matching titles and authors, empty while the index is loading.
+     */
+    @Override
+    public List<BookSuggestionDto> handleSuggestBooks(String query, int size) {
+        return bookSuggestIndex.suggest(query, Math.max(1, Math.min(size, MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * Retrieves the active books most often borrowed together with the given book.
+     *
+     * The ranking comes from the in-memory {@link CoBorrowRecommender}; only the
+     * summaries of the ranked ids are read, by primary key.
+     *
+     * @param id   the ID of the book.
+     * @param size the maximum number of books, capped at {@value #MAX_SIMILAR}.
+     * @return the similar books, best first; empty while the matrix is loading.
+     */
+    @Override
+    public List<BookSummaryDto> handleGetSimilarBooks(long id, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SIMILAR));
+        // over-fetch so inactive books dropped below still leave a full list
+        List<Long> ids = coBorrowRecommender.similar(id, limit * 2);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookSummaryDto> books = bookRepository.findSummariesByIdIn(ids)
                 .stream()
-                .map(item -> bookMapper.convertBookToBookResponseDto(item))
+                .collect(Collectors.toMap(BookSummaryDto::getId, Function.identity()));
+        return ids.stream()
+                .map(books::get)
+                .filter(book -> book != null && book.isActive())
+                .limit(limit)
                 .collect(Collectors.toList());
-        response.setResult(listBook);
-        return response;
     }
 
     /**
      * Retrieves a paginated list of books for clients.
      * This method modifies the given {@link BookCriteria} by setting the 
      * admin flag to {@code false} and filtering only active books before 
-     * fetching the results.
+     * fetching the results. {@code sort=trending} pages come from the
+     * {@link BookTrendingTracker} ranking instead. Pages are served from {@link BookPageCache} when
+     * no book matching the criteria has changed since they were loaded; keyset
+     * windows are not cached. The category, author and availability counts of the
+     * active catalog are attached from {@link BookFacetCounter}.
      *
      * @param bookCriteria The criteria used to filter books.
      * @param pageable     The pagination and sorting information.
+     * @param pagination   The optional keyset cursor and paging mode.
      * @return A {@link ResultPaginateDto} containing the paginated list of books 
      *         and metadata such as total pages, current page, and total elements.
+     * @throws InvalidException if the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetAllBooksClientV2(BookCriteria bookCriteria, Pageable pageable) {
+    public ResultPaginateDto handleGetAllBooksClientV2(BookCriteria bookCriteria, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
         BookCriteria criteriaCopy = bookCriteria.copy();
         criteriaCopy.setIsAdmin(false);
         
@@ -235,7 +379,98 @@ public class BookServiceImpl implements IBookService {
         activeFilter.setEquals(true);
         criteriaCopy.setIsActive(activeFilter);
 
-        return getBooks(criteriaCopy, pageable);
+        ResultPaginateDto page;
+        if (BookTrendingTracker.isTrendingSort(pageable.getSort())) {
+            page = getTrendingBooks(criteriaCopy, pageable);
+        } else if (pagination.usesCursor() && !isFuzzy(criteriaCopy)) {
+            page = getBookWindow(criteriaCopy, pageable, pagination.getCursor());
+        } else {
+            PagingModeEnum paging = pagination.getPaging();
+            page = bookPageCache.get(criteriaCopy, pageable, paging, () -> getBooks(criteriaCopy, pageable, paging));
+        }
+        return withFacets(page);
+    }
+
+    /**
+     * Retrieves a page of the trending books matching the criteria.
+     *
+     * The order is the in-memory ranking of {@link BookTrendingTracker}; the database
+     * is only asked for the summaries of ranked ids, by primary key. Without text
+     * filters only the requested page is loaded, otherwise the ranked ids are read in
+     * chunks and filtered with {@link BookCriteriaMatcher} to count the matches.
+     * Books outside the ranking are not listed.
+     *
+     * @param bookCriteria The criteria used to filter books.
+     * @param pageable     The pagination information; the sort is ignored.
+     * @return A {@link ResultPaginateDto} containing the page of books and metadata.
+     */
+    private ResultPaginateDto getTrendingBooks(BookCriteria bookCriteria, Pageable pageable) {
+        List<Long> ranked = bookTrendingTracker.getTop();
+        long offset = pageable.getOffset();
+        List<BookSummaryDto> content = new ArrayList<>();
+        long total = 0;
+        boolean filtered = bookCriteria.getTitle() != null || bookCriteria.getAuthor() != null
+                || bookCriteria.getCategory() != null;
+        int chunkSize = filtered ? TRENDING_CHUNK_SIZE : pageable.getPageSize();
+        int from = filtered ? 0 : (int) Math.min(offset, ranked.size());
+        if (!filtered) {
+            total = from;
+        }
+        for (; from < ranked.size(); from += chunkSize) {
+            List<Long> ids = ranked.subList(from, Math.min(from + chunkSize, ranked.size()));
+            Map<Long, BookSummaryDto> books = bookRepository.findSummariesByIdIn(ids)
+                    .stream()
+                    .collect(Collectors.toMap(BookSummaryDto::getId, Function.identity()));
+            for (Long id : ids) {
+                BookSummaryDto book = books.get(id);
+                if (book == null || !book.isActive() || !matchesText(bookCriteria, book)) {
+                    continue;
+                }
+                if (total >= offset && content.size() < pageable.getPageSize()) {
+                    content.add(book);
+                }
+                total++;
+            }
+            if (!filtered) {
+                // the remaining ranked ids are assumed active; deactivated books leave the ranking at the next fold
+                total += ranked.size() - from - ids.size();
+                break;
+            }
+        }
+
+        ResultPaginateDto response = new ResultPaginateDto();
+        ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
+
+        meta.setPage(pageable.getPageNumber() + 1);
+        meta.setPageSize(pageable.getPageSize());
+        meta.setPages((int) Math.ceil((double) total / pageable.getPageSize()));
+        meta.setTotal(total);
+
+        response.setMeta(meta);
+        response.setResult(content);
+
+        return response;
+    }
+
+    private static boolean matchesText(BookCriteria bookCriteria, BookSummaryDto book) {
+        return BookCriteriaMatcher.matches(bookCriteria.getTitle(), book.getTitle())
+                && BookCriteriaMatcher.matches(bookCriteria.getAuthor(), book.getAuthor())
+                && BookCriteriaMatcher.matches(bookCriteria.getCategory(), book.getCategory());
+    }
+
+    /**
+     * Attaches the catalog facet counts to a listing page. The page may be shared
+     * through the page cache, so a copy is returned instead of modifying it.
+     *
+     * @param page the listing page.
+     * @return a page with the same meta and result plus the current facet counts.
+     */
+    private ResultPaginateDto withFacets(ResultPaginateDto page) {
+        ResultPaginateDto response = new ResultPaginateDto();
+        response.setMeta(page.getMeta());
+        response.setResult(page.getResult());
+        response.setFacets(bookFacetCounter.getFacets());
+        return response;
     }
 
     /**
@@ -246,29 +481,84 @@ public class BookServiceImpl implements IBookService {
      *
      * @param bookCriteria The criteria used to filter books.
      * @param pageable     The pagination and sorting information.
+     * @param pagination   The optional keyset cursor and paging mode.
      * @return A {@link ResultPaginateDto} containing the paginated list of books 
      *         and metadata such as total pages, current page, and total elements.
+     * @throws InvalidException if the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetAllBooksAdminV2(BookCriteria bookCriteria, Pageable pageable) {
+    public ResultPaginateDto handleGetAllBooksAdminV2(BookCriteria bookCriteria, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
         BookCriteria criteriaCopy = bookCriteria.copy();
         criteriaCopy.setIsAdmin(true);
         criteriaCopy.setIsActive(null);
 
-        return getBooks(criteriaCopy, pageable);
+        if (pagination.usesCursor() && !isFuzzy(criteriaCopy)) {
+            return getBookWindow(criteriaCopy, pageable, pagination.getCursor());
+        }
+
+        return getBooks(criteriaCopy, pageable, pagination.getPaging());
     }
 
     /**
-     * Retrieves a paginated list of books based on the given criteria.
+     * Retrieves the keyset window of books after the given cursor.
      *
      * @param bookCriteria The criteria used to filter books.
+     * @param pageable     The window size and, for the first window, the sort.
+     * @param cursor       The cursor of the previous window, empty for the first one.
+     * @return A {@link ResultPaginateDto} containing the books and {@code meta.nextCursor}.
+     * @throws InvalidException if the cursor is not valid.
+     */
+    private ResultPaginateDto getBookWindow(BookCriteria bookCriteria, Pageable pageable, String cursor) throws InvalidException {
+        KeysetPagination.Window<BookSummaryDto> window = bookQueryService.findSummaryWindowByCriteria(bookCriteria, pageable, cursor);
+        return KeysetPagination.toResponse(window, pageable, Function.identity());
+    }
+
+    /**
+     * Retrieves a paginated list of books based on the given criteria.
+     *
+     * Fuzzy requests with a title or author filter are answered from the
+     * {@link BookFuzzyIndex}, ranked by closeness and ignoring the sort; while it is
+     * loading they fall back to the plain filters. Unsorted requests whose text filters are all {@code contains} filters are
+     * answered from the {@link BookSearchIndex} and ranked by relevance instead of
+     * running a {@code LIKE '%x%'} scan; the index matches the same substrings the
+     * scan would, and knows its exact total for free, so the paging mode does not
+     * apply there. A text without any letter or digit, a sort, or an index still
+     * loading runs the same filter on the database. Otherwise {@code SLICE} and
+     * {@code ESTIMATED} read the page without running a COUNT.
+     *
+     * @param bookCriteria The criteria used to filter books; not modified afterwards.
      * @param pageable     The pagination and sorting information.
+     * @param paging       How the page reports the size of the result set.
      * @return A {@link ResultPaginateDto} containing the paginated list of books
      *         and metadata such as total pages, current page, and total elements.
      */
-    private ResultPaginateDto getBooks(BookCriteria bookCriteria, Pageable pageable) {
-        
-        Page<Book> pageBook = bookQueryService.findByCriteria(bookCriteria, pageable);
+    private ResultPaginateDto getBooks(BookCriteria bookCriteria, Pageable pageable, PagingModeEnum paging) {
+        Boolean active = bookCriteria.getIsActive() == null ? null : bookCriteria.getIsActive().getEquals();
+        Map<BookFuzzyIndex.Field, String> fuzzyQuery = isFuzzy(bookCriteria) ? toFuzzyQuery(bookCriteria) : null;
+        if (fuzzyQuery != null && bookFuzzyIndex.isReady()) {
+            SearchResult result = bookFuzzyIndex.search(fuzzyQuery, bookCriteria.getCategory(), active,
+                    pageable.getOffset(), pageable.getPageSize());
+            return toSearchResponse(result, pageable);
+        }
+
+        Map<BookSearchIndex.Field, String> textQuery = toTextQuery(bookCriteria);
+        if (textQuery != null && pageable.getSort().isUnsorted() && bookSearchIndex.isReady()) {
+            SearchResult result = bookSearchIndex.searchContains(textQuery, active, pageable.getOffset(), pageable.getPageSize());
+            if (result != null) {
+                return toSearchResponse(result, pageable);
+            }
+        }
+
+        if (paging != PagingModeEnum.EXACT) {
+            Slice<BookSummaryDto> slice = bookQueryService.findSummarySliceByCriteria(bookCriteria, pageable);
+            if (paging == PagingModeEnum.SLICE) {
+                return SlicePagination.toResponse(slice, Function.identity());
+            }
+            long estimate = countEstimateCache.estimate("books", bookCriteria, () -> bookQueryService.countByCriteria(bookCriteria));
+            return SlicePagination.toResponse(slice, estimate, Function.identity());
+        }
+
+        Page<BookSummaryDto> pageBook = bookQueryService.findSummariesByCriteria(bookCriteria, pageable);
         ResultPaginateDto response = new ResultPaginateDto();
         ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
 
@@ -278,9 +568,103 @@ public class BookServiceImpl implements IBookService {
         meta.setTotal(pageBook.getTotalElements());
 
         response.setMeta(meta);
-        response.setResult(pageBook.getContent()
+        response.setResult(pageBook.getContent());
+
+        return response;
+    }
+
+    private static boolean isFuzzy(BookCriteria bookCriteria) {
+        return Boolean.TRUE.equals(bookCriteria.getFuzzy());
+    }
+
+    /**
+     * Extracts the title and author text the fuzzy index searches for.
+     *
+     * @param bookCriteria The criteria used to filter books.
+     * @return the {@code contains} (or {@code equals}) value per field, or {@code null}
+     *         if the criteria filters neither title nor author.
+     */
+    private Map<BookFuzzyIndex.Field, String> toFuzzyQuery(BookCriteria bookCriteria) {
+        Map<BookFuzzyIndex.Field, String> fuzzyQuery = new EnumMap<>(BookFuzzyIndex.Field.class);
+        String title = fuzzyText(bookCriteria.getTitle());
+        if (title != null) {
+            fuzzyQuery.put(BookFuzzyIndex.Field.TITLE, title);
+        }
+        String author = fuzzyText(bookCriteria.getAuthor());
+        if (author != null) {
+            fuzzyQuery.put(BookFuzzyIndex.Field.AUTHOR, author);
+        }
+        return fuzzyQuery.isEmpty() ? null : fuzzyQuery;
+    }
+
+    private static String fuzzyText(StringFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        String text = StringUtils.isNotBlank(filter.getContains()) ? filter.getContains() : filter.getEquals();
+        return StringUtils.isBlank(text) ? null : text;
+    }
+
+    /**
+     * Extracts the text filters of the criteria that the search index can answer.
+     *
+     * @param bookCriteria The criteria used to filter books.
+     * @return the {@code contains} value per field, or {@code null} if the criteria has
+     *         no text filter or uses a filter other than {@code contains}.
+     */
+    private Map<BookSearchIndex.Field, String> toTextQuery(BookCriteria bookCriteria) {
+        Map<BookSearchIndex.Field, StringFilter> filters = new EnumMap<>(BookSearchIndex.Field.class);
+        if (bookCriteria.getTitle() != null) {
+            filters.put(BookSearchIndex.Field.TITLE, bookCriteria.getTitle());
+        }
+        if (bookCriteria.getAuthor() != null) {
+            filters.put(BookSearchIndex.Field.AUTHOR, bookCriteria.getAuthor());
+        }
+        if (bookCriteria.getCategory() != null) {
+            filters.put(BookSearchIndex.Field.CATEGORY, bookCriteria.getCategory());
+        }
+        if (filters.isEmpty()) {
+            return null;
+        }
+
+        Map<BookSearchIndex.Field, String> textQuery = new EnumMap<>(BookSearchIndex.Field.class);
+        for (Map.Entry<BookSearchIndex.Field, StringFilter> entry : filters.entrySet()) {
+            StringFilter filter = entry.getValue();
+            StringFilter containsOnly = new StringFilter();
+            containsOnly.setContains(filter.getContains());
+            if (StringUtils.isBlank(filter.getContains()) || !containsOnly.equals(filter)) {
+                return null;
+            }
+            textQuery.put(entry.getKey(), filter.getContains());
+        }
+        return textQuery;
+    }
+
+    /**
+     * Loads the summaries of a search result window and keeps the relevance order.
+     *
+     * @param result   The total hit count and the ids of the requested page.
+     * @param pageable The pagination information.
+     * @return A {@link ResultPaginateDto} containing the page of books and metadata.
+     */
+    private ResultPaginateDto toSearchResponse(SearchResult result, Pageable pageable) {
+        Map<Long, BookSummaryDto> books = bookRepository.findSummariesByIdIn(result.bookIds())
+                .stream()
+                .collect(Collectors.toMap(BookSummaryDto::getId, Function.identity()));
+
+        ResultPaginateDto response = new ResultPaginateDto();
+        ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
+
+        meta.setPage(pageable.getPageNumber() + 1);
+        meta.setPageSize(pageable.getPageSize());
+        meta.setPages((int) Math.ceil((double) result.total() / pageable.getPageSize()));
+        meta.setTotal(result.total());
+
+        response.setMeta(meta);
+        response.setResult(result.bookIds()
                 .stream()
-                .map(bookMapper::convertBookToBookResponseDto)
+                .map(books::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList()));
 
         return response;
@@ -296,36 +680,49 @@ public class BookServiceImpl implements IBookService {
      */
     @Override
     public void handleDeleteBookById(long id) {
+        Book book = bookRepository.findById(id).orElse(null);
         bookLogService.logDeleteBook(id);
         bookRepository.deleteById(id);
+        if (book != null) {
+            eventPublisher.publishEvent(BookChangedEvent.deleted(book));
+        }
     }
 
     /**
      * Handles bulk creation of books. If a book with the same title already exists,
      * it is skipped.
      *
+     * Rows are written in chunks by {@link BookBatchWriter}, each chunk in its own
+     * transaction, so a large import neither holds one long transaction nor pays
+     * several round trips per row. The current user is resolved once for all
+     * activity logs.
+     *
      * @param books The list of books to be created.
      * @return A {@link BulkCreateResponseDto} containing the count of successfully
-     *         created books and errors.
+     *         created books and errors, and the reason of every rejected row.
+     * @throws InvalidException if the current user cannot be resolved.
      */
     @Override
-    public BulkCreateResponseDto handleBulkCreateBooksbooks(List<CreateBookRequestDto> books) {
-        int countSuccess = 0;
-        int countError = 0;
-        for (CreateBookRequestDto book : books) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkCreateResponseDto handleBulkCreateBooksbooks(List<CreateBookRequestDto> books) throws InvalidException {
+        String email = SecurityUtil.getCurrentUserLogin()
+                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
+        User user = userService.handleGetUserByUsername(email);
+
+        BulkCreateResponseDto response = new BulkCreateResponseDto();
+        for (int from = 0; from < books.size(); from += bulkChunkSize) {
+            List<CreateBookRequestDto> chunk = books.subList(from, Math.min(from + bulkChunkSize, books.size()));
             try {
-                Book dbBook = handleGetBookByTitle(book.getTitle());
-                if (dbBook != null) {
-                    countError++;
-                } else {
-                    handleCreateBook(book);
-                    countSuccess++;
+                response.merge(bookBatchWriter.writeChunk(chunk, from + 1, user));
+            } catch (RuntimeException e) {
+                log.error("importing books from row {} failed", from + 1, e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    CreateBookRequestDto row = chunk.get(i);
+                    response.addError(from + i + 1, row == null ? null : row.getTitle(), "Book could not be saved");
                 }
-            } catch (Exception e) {
-                countError++;
             }
         }
-        return new BulkCreateResponseDto(countSuccess, countError);
+        return response;
     }
 
     /**
@@ -1,9 +1,16 @@
 package com.anlb.readcycle.service.impl;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -14,21 +21,33 @@ import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.domain.Borrow;
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.dto.request.CreateBorrowBookRequestDto;
-import com.anlb.readcycle.dto.request.CreateBorrowBookRequestDto.Details;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
+import com.anlb.readcycle.dto.request.ReturnBooksRequestDto;
 import com.anlb.readcycle.dto.response.BorrowResponseDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.dto.response.ReturnBooksResponseDto;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.event.BorrowRecordedEvent;
+import com.anlb.readcycle.event.CartCheckedOutEvent;
+import com.anlb.readcycle.event.UserBorrowsChangedEvent;
 import com.anlb.readcycle.mapper.BookMapper;
-import com.anlb.readcycle.mapper.BorrowMapper;
 import com.anlb.readcycle.repository.BookRepository;
 import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.repository.CartRepository;
+import com.anlb.readcycle.repository.projection.BorrowLockView;
 import com.anlb.readcycle.repository.specification.BorrowSpecifications;
-import com.anlb.readcycle.service.IBookService;
 import com.anlb.readcycle.service.IBorrowBookService;
+import com.anlb.readcycle.service.IHoldService;
 import com.anlb.readcycle.service.IUserService;
+import com.anlb.readcycle.service.cache.CartStore;
+import com.anlb.readcycle.service.overdue.LoanPolicy;
 import com.anlb.readcycle.utils.SecurityUtil;
 import com.anlb.readcycle.utils.constant.BookStatusEnum;
 import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
 import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.pagination.KeysetCursor;
+import com.anlb.readcycle.utils.pagination.KeysetPagination;
 
 import lombok.RequiredArgsConstructor;
 
@@ -37,51 +56,90 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BorrowBookServiceImpl implements IBorrowBookService {
 
+    // role allowed to return the borrows of other users, e.g. at the library desk
+    private static final String ADMIN_ROLE = "admin";
+
+    // attributes a keyset window of the borrow history may be sorted by
+    private static final Map<String, Class<?>> HISTORY_SORT_KEYS = Map.of(
+            KeysetCursor.ID, Long.class,
+            "status", BorrowStatusEnum.class,
+            "dueDate", Instant.class,
+            "createdAt", Instant.class,
+            "updatedAt", Instant.class);
+
     private final IUserService userService;
+    private final IHoldService holdService;
     private final BookMapper bookMapper;
-    private final BorrowMapper borrowMapper;
-    private final IBookService bookService;
     private final BookRepository bookRepository;
     private final BorrowRepository borrowRepository;
+    private final CartRepository cartRepository;
+    private final CartStore cartStore;
+    private final LoanPolicy loanPolicy;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Handles the book borrowing process for a user.
      *
      * <p>This method processes a borrowing request, checking book availability and updating 
-     * the inventory accordingly. If a book is unavailable, an exception is thrown.</p>
+     * the inventory accordingly. If a book is unavailable, an exception is thrown and no
+     * book of the request is borrowed.</p>
+     *
+     * <p>All requested books are loaded and locked with one {@code SELECT ... FOR UPDATE}
+     * in id order, so concurrent requests sharing books wait for each other instead of
+     * deadlocking or overselling. The stock is then taken with one {@code UPDATE} per
+     * distinct number of copies requested, usually a single statement.</p>
      *
      * @param reqBorrow a {@link CreateBorrowBookRequestDto} containing the borrowing details, 
      *                  including the username and list of books to borrow.
      * @return a list of {@link Borrow} objects representing the borrowed books.
-     * @throws InvalidException if any of the requested books are unavailable.
+     * @throws InvalidException if any of the requested books does not exist or is unavailable.
      */
     @Override
+    @Transactional(rollbackFor = InvalidException.class)
     public List<Borrow> handleBorrowBook(CreateBorrowBookRequestDto reqBorrow) throws InvalidException {
-        List<Details> listBook = reqBorrow.getDetails();
         User user = userService.handleGetUserByUsername(reqBorrow.getUsername());
+        List<Long> bookIds = reqBorrow.getDetails()
+                                        .stream()
+                                        .map(bookDetails -> bookMapper.convertDetailsToBook(bookDetails).getId())
+                                        .collect(Collectors.toList());
+        return borrowCopies(user, bookIds);
+    }
 
-        List<Borrow> borrows = new ArrayList<>();
+    /**
+     * Borrows every book in the cart of the current user and empties the cart, in
+     * one transaction.
+     *
+     * <p>The cart rows are claimed from the {@link CartStore} first, so two checkouts
+     * of the same cart cannot both borrow it. The books are then borrowed as in
+     * {@link #handleBorrowBook(CreateBorrowBookRequestDto)}, one copy per unit of each
+     * cart row. The claimed rows are deleted from the table with one statement in
+     * the same transaction, and returned to the cart if it rolls back.</p>
+     *
+     * @return a list of {@link Borrow} objects representing the borrowed books.
+     * @throws InvalidException if the access token is invalid, the cart is empty, or
+     *                          a book does not exist or is unavailable.
+     */
+    @Override
+    @Transactional(rollbackFor = InvalidException.class)
+    public List<Borrow> handleCheckout() throws InvalidException {
+        String email = SecurityUtil.getCurrentUserLogin()
+                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
+        User user = userService.handleGetUserByUsername(email);
 
-        for (Details bookDetails : listBook) {
-            Borrow borrow = new Borrow();
-            borrow.setUser(user);
-            borrow.setStatus(BorrowStatusEnum.BORROWED);
-            Book book = bookMapper.convertDetailsToBook(bookDetails);
-            Book dbBook = bookService.handleGetBookById(book.getId());
-            if (dbBook.getQuantity() == 0) {
-                throw new InvalidException("Sorry the book you borrow is unavailable");
-            }
-            dbBook.setQuantity(dbBook.getQuantity() - 1);
-            if (dbBook.getQuantity() == 0) {
-                dbBook.setStatus(BookStatusEnum.UNAVAILABLE);
+        List<CartStore.CartEntry> carts = cartStore.claim(user.getId());
+        if (carts.isEmpty()) {
+            throw new InvalidException("Your cart is empty");
+        }
+        // puts the claimed rows back on rollback
+        eventPublisher.publishEvent(new CartCheckedOutEvent(user.getId(), carts));
+        cartRepository.deleteAllByIdIn(carts.stream().map(CartStore.CartEntry::id).collect(Collectors.toList()));
+        List<Long> bookIds = new ArrayList<>();
+        for (CartStore.CartEntry cart : carts) {
+            for (int i = 0; i < cart.sum(); i++) {
+                bookIds.add(cart.bookId());
             }
-            dbBook = bookRepository.save(dbBook);
-            borrow.setBook(dbBook);
-            
-            borrows.add(borrow);
         }
-
-        return borrowRepository.saveAll(borrows);
+        return borrowCopies(user, bookIds);
     }
 
     /**
@@ -119,20 +177,33 @@ public class BorrowBookServiceImpl implements IBorrowBookService {
      * Retrieves the borrowing history of the currently authenticated user with pagination.
      *
      * This method fetches the borrow records for the logged-in user, applying 
-     * filtering criteria and pagination.
+     * filtering criteria and pagination. Each page is read with one statement that
+     * joins the user and the book summary of every row; an offset page adds a count
+     * unless it is a short first page.
      *
      * @param spec the {@link Specification} for filtering borrow records.
      * @param pageable the {@link Pageable} object for pagination details.
+     * @param pagination the optional keyset cursor.
      * @return a {@link ResultPaginateDto} containing paginated borrow history data.
-     * @throws InvalidException if the access token is invalid or the user cannot be found.
+     * @throws InvalidException if the access token is invalid, the user cannot be found
+     *                          or the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetHistoryByUser(Specification<Borrow> spec, Pageable pageable) throws InvalidException {
+    public ResultPaginateDto handleGetHistoryByUser(Specification<Borrow> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
         String email = SecurityUtil.getCurrentUserLogin()
                             .orElseThrow(() -> new InvalidException("Access Token invalid"));
-        User user = userService.handleGetUserByUsername(email);
-        spec = spec.and(BorrowSpecifications.getUser(user));
-        Page<Borrow> pageBorrow = borrowRepository.findAll(spec, pageable);
+        // the id of the access token spares reading the user
+        Long userId = SecurityUtil.getCurrentUserId().orElse(null);
+        if (userId == null) {
+            userId = userService.handleGetUserByUsername(email).getId();
+        }
+        spec = spec.and(BorrowSpecifications.getUserId(userId));
+        if (pagination.usesCursor()) {
+            return KeysetPagination.toResponse(KeysetPagination.fetch(borrowRepository::findHistory, spec, pageable, pagination.getCursor(),
+                    HISTORY_SORT_KEYS),
+                    pageable, Function.identity());
+        }
+        Page<BorrowResponseDto> pageBorrow = borrowRepository.findHistory(spec, pageable);
         ResultPaginateDto response = new ResultPaginateDto();
         ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
 
@@ -143,12 +214,7 @@ public class BorrowBookServiceImpl implements IBorrowBookService {
         meta.setTotal(pageBorrow.getTotalElements());
 
         response.setMeta(meta);
-
-        List<BorrowResponseDto> listBorrow = pageBorrow.getContent()
-                                                .stream()
-                                                .map(item -> borrowMapper.convertBorrowToBorrowResponseDto(item))
-                                                .collect(Collectors.toList());
-        response.setResult(listBorrow);
+        response.setResult(pageBorrow.getContent());
         return response;
     }
 
@@ -156,20 +222,229 @@ public class BorrowBookServiceImpl implements IBorrowBookService {
      * Handles the return of a borrowed book.
      *
      * This method finds the corresponding borrow record for the given user and book,
-     * updates its status to {@code RETURNED}, and increments the book's quantity in stock.
+     * updates its status to {@code RETURNED}, and increments the book's quantity in stock,
+     * see {@link #handleReturnBooks(ReturnBooksRequestDto)}.
      *
      * @param borrow the {@link Borrow} object containing user, book, and borrow status information.
      * @return the updated {@link Borrow} entity after marking it as returned.
-     * @throws InvalidException if the borrow record cannot be found.
+     * @throws InvalidException if the borrow record cannot be found, is already returned
+     *                          or belongs to another user and the caller is not an admin.
      */
     @Override
+    @Transactional(rollbackFor = InvalidException.class)
     public Borrow handleReturnBook(Borrow borrow) throws InvalidException {
         Borrow dbBorrow = borrowRepository.findByUserAndBookAndStatus(borrow.getUser(), borrow.getBook(), borrow.getStatus());
-        dbBorrow.setStatus(BorrowStatusEnum.RETURNED);
-        Book dbBook = bookService.handleGetBookById(borrow.getBook().getId());
-        dbBook.setQuantity(dbBook.getQuantity() + 1);
-        bookRepository.save(dbBook);
+        if (dbBorrow == null) {
+            throw new InvalidException("Borrow record not found");
+        }
+        returnBorrows(List.of(dbBorrow.getId()));
         return borrow;
     }
-    
+
+    /**
+     * Returns many borrowed books at once.
+     *
+     * The borrows are locked in id order, marked {@code RETURNED} with one
+     * {@code UPDATE}, then their books are locked in id order and the copies put back
+     * with one {@code UPDATE} per distinct number of copies, usually a single statement.
+     * Copies of a book with a waitlist are lent to its first waiters instead.
+     * Either every borrow is returned or none is.
+     *
+     * @param request the ids of the borrows to return.
+     * @return the number and ids of the returned borrows.
+     * @throws InvalidException if no id is given, a borrow does not exist, is already
+     *                          returned or belongs to another user and the caller is
+     *                          not an admin.
+     */
+    @Override
+    @Transactional(rollbackFor = InvalidException.class)
+    public ReturnBooksResponseDto handleReturnBooks(ReturnBooksRequestDto request) throws InvalidException {
+        if (request.getBorrowIds() == null || request.getBorrowIds().isEmpty()) {
+            throw new InvalidException("No borrow to return");
+        }
+        List<Long> borrowIds = request.getBorrowIds()
+                                        .stream()
+                                        .filter(Objects::nonNull)
+                                        .distinct()
+                                        .collect(Collectors.toList());
+        returnBorrows(borrowIds);
+        return new ReturnBooksResponseDto(borrowIds.size(), borrowIds);
+    }
+
+    /**
+     * Takes one copy per entry of {@code bookIds} and records the borrows.
+     *
+     * @param user    the borrowing user.
+     * @param bookIds the borrowed books, one entry per copy.
+     * @return the saved borrows, in the order of {@code bookIds}.
+     * @throws InvalidException if a book does not exist or has too few copies left.
+     */
+    private List<Borrow> borrowCopies(User user, List<Long> bookIds) throws InvalidException {
+        // copies requested per book
+        Map<Long, Integer> copies = new HashMap<>();
+        for (Long bookId : bookIds) {
+            copies.merge(bookId, 1, Integer::sum);
+        }
+        Map<Long, Book> books = lockBooks(copies.keySet());
+        for (Map.Entry<Long, Integer> entry : copies.entrySet()) {
+            if (books.get(entry.getKey()).getQuantity() < entry.getValue()) {
+                throw new InvalidException("Sorry the book you borrow is unavailable");
+            }
+        }
+        changeStock(books, copies, true);
+
+        Instant dueDate = loanPolicy.dueDate(Instant.now());
+        List<Borrow> borrows = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            Borrow borrow = new Borrow();
+            borrow.setUser(user);
+            borrow.setStatus(BorrowStatusEnum.BORROWED);
+            borrow.setDueDate(dueDate);
+            borrow.setBook(books.get(bookId));
+            borrows.add(borrow);
+        }
+
+        List<Borrow> saved = borrowRepository.saveAll(borrows);
+        eventPublisher.publishEvent(new BorrowRecordedEvent(user.getId(),
+                saved.stream().map(borrow -> borrow.getBook().getId()).collect(Collectors.toList())));
+        eventPublisher.publishEvent(UserBorrowsChangedEvent.opened(user.getId(), saved.stream()
+                .map(borrow -> new UserBorrowsChangedEvent.Opened(borrow.getId(), borrow.getBook().getId(), borrow.getBook().getCategory()))
+                .collect(Collectors.toList())));
+        return saved;
+    }
+
+    /**
+     * Marks the borrows {@code RETURNED}, lends their copies to the users waiting for
+     * the books and puts the copies nobody waits for back in stock.
+     *
+     * @param borrowIds distinct borrow ids.
+     * @throws InvalidException if a borrow does not exist, is not {@code BORROWED} or
+     *                          belongs to another user and the caller is not an admin.
+     */
+    private void returnBorrows(Collection<Long> borrowIds) throws InvalidException {
+        Instant now = Instant.now();
+        List<BorrowLockView> locked = borrowRepository.findLockViewsForUpdate(borrowIds);
+        checkOwner(locked);
+        Map<Long, Integer> copies = new HashMap<>();
+        for (BorrowLockView borrow : locked) {
+            if (BorrowStatusEnum.BORROWED.name().equals(borrow.getStatus())) {
+                copies.merge(borrow.getBookId(), 1, Integer::sum);
+            }
+        }
+        int borrowed = copies.values().stream().mapToInt(Integer::intValue).sum();
+        if (borrowed != borrowIds.size()) {
+            throw new InvalidException("Borrow record not found or already returned");
+        }
+        borrowRepository.updateStatuses(borrowIds, BorrowStatusEnum.BORROWED, BorrowStatusEnum.RETURNED, now, currentLogin());
+        locked.stream()
+                .collect(Collectors.groupingBy(BorrowLockView::getUserId,
+                        Collectors.mapping(BorrowLockView::getId, Collectors.toList())))
+                .forEach((userId, ids) -> eventPublisher.publishEvent(UserBorrowsChangedEvent.returned(userId, ids)));
+        Map<Long, Book> books = lockBooks(copies.keySet());
+        Map<Long, Integer> restocked = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : copies.entrySet()) {
+            int left = entry.getValue() - holdService.handleAllocateReturnedCopies(books.get(entry.getKey()), entry.getValue());
+            if (left > 0) {
+                restocked.put(entry.getKey(), left);
+            }
+        }
+        changeStock(books, restocked, false);
+    }
+
+    /**
+     * Checks that the current user owns every borrow, unless they are an admin. The
+     * user is only read when a borrow of someone else is found.
+     *
+     * @param borrows the locked borrows.
+     * @throws InvalidException if the request is not authenticated, or a borrow
+     *                          belongs to another user and the caller is not an admin.
+     */
+    private void checkOwner(List<BorrowLockView> borrows) throws InvalidException {
+        String email = SecurityUtil.getCurrentUserLogin()
+                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
+        User user = null;
+        Long userId = SecurityUtil.getCurrentUserId().orElse(null);
+        if (userId == null) {
+            user = userService.handleGetUserByUsername(email);
+            userId = user.getId();
+        }
+        long currentUserId = userId;
+        if (borrows.stream().allMatch(borrow -> borrow.getUserId() == currentUserId)) {
+            return;
+        }
+        if (user == null) {
+            user = userService.handleGetUserByUsername(email);
+        }
+        if (user.getRole() == null || !ADMIN_ROLE.equals(user.getRole().getName())) {
+            throw new InvalidException("You can only return your own borrows");
+        }
+    }
+
+    /**
+     * Loads and locks the books in id order.
+     *
+     * @param ids the book ids.
+     * @return the locked books by id.
+     * @throws InvalidException if a book does not exist.
+     */
+    private Map<Long, Book> lockBooks(Collection<Long> ids) throws InvalidException {
+        Map<Long, Book> books = bookRepository.findAllByIdForUpdate(ids)
+                                        .stream()
+                                        .collect(Collectors.toMap(Book::getId, Function.identity()));
+        for (Long id : ids) {
+            if (!books.containsKey(id)) {
+                throw new InvalidException("Book with id: " + id + " does not exists");
+            }
+        }
+        return books;
+    }
+
+    /**
+     * Takes or puts back copies of locked books with one {@code UPDATE} per distinct
+     * number of copies, and publishes the book changes.
+     *
+     * The bulk {@code UPDATE} bypasses the persistence context, so the books are
+     * detached and given their new state in memory instead of being read again.
+     *
+     * @param books  the locked books by id; their availability has been checked.
+     * @param copies the number of copies per book id.
+     * @param borrow {@code true} to take the copies, {@code false} to put them back.
+     */
+    private void changeStock(Map<Long, Book> books, Map<Long, Integer> copies, boolean borrow) {
+        Instant now = Instant.now();
+        String login = currentLogin();
+        Map<Integer, List<Long>> idsByCopies = copies.entrySet()
+                                        .stream()
+                                        .collect(Collectors.groupingBy(Map.Entry::getValue,
+                                                Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        idsByCopies.forEach((count, ids) -> {
+            if (borrow) {
+                bookRepository.decrementQuantities(ids, count, now, login);
+            } else {
+                bookRepository.incrementQuantities(ids, count, now, login);
+            }
+        });
+
+        List<BookChangedEvent> changes = new ArrayList<>(copies.size());
+        for (Map.Entry<Long, Integer> entry : copies.entrySet()) {
+            Book book = books.get(entry.getKey());
+            Book oldBook = book.clone();
+            bookRepository.detach(book);
+            int quantity = book.getQuantity() + (borrow ? -entry.getValue() : entry.getValue());
+            book.setQuantity(quantity);
+            if (quantity == 0) {
+                book.setStatus(BookStatusEnum.UNAVAILABLE);
+            } else if (!borrow) {
+                book.setStatus(BookStatusEnum.AVAILABLE);
+            }
+            book.setUpdatedAt(now);
+            book.setUpdatedBy(login);
+            changes.add(BookChangedEvent.updated(oldBook, book));
+        }
+        eventPublisher.publishEvent(new BookBatchChangedEvent(changes));
+    }
+
+    private static String currentLogin() {
+        return SecurityUtil.getCurrentUserLogin().orElse("");
+    }
 }
@@ -1,31 +1,34 @@
 package com.anlb.readcycle.service.impl;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
 import com.anlb.readcycle.domain.Book;
-import com.anlb.readcycle.domain.Borrow;
 import com.anlb.readcycle.domain.Cart;
 import com.anlb.readcycle.domain.User;
-import com.anlb.readcycle.repository.CartRepository;
-import com.anlb.readcycle.service.IBorrowBookService;
 import com.anlb.readcycle.service.ICartService;
 import com.anlb.readcycle.service.IUserService;
+import com.anlb.readcycle.service.cache.BorrowingStateCache;
+import com.anlb.readcycle.service.cache.CartStore;
 import com.anlb.readcycle.utils.SecurityUtil;
-import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
 import com.anlb.readcycle.utils.exception.InvalidException;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Carts are served from the {@link CartStore}, which writes them to the database
+ * in the background; none of these methods holds a database connection in the
+ * common case.
+ */
 @Service
 @RequiredArgsConstructor
 public class CartServiceImpl implements ICartService {
 
     private final IUserService userService;
-    private final CartRepository cartRepository;
-    private final IBorrowBookService borrowBookService;
+    private final BorrowingStateCache borrowingStateCache;
+    private final CartStore cartStore;
     
     /**
      * Adds a book to the user's cart.
@@ -33,44 +36,28 @@ public class CartServiceImpl implements ICartService {
      * This method checks if the user has already borrowed the same book or a book of the same category
      * before allowing them to add a new book to the cart. If any such condition is met, an exception is thrown.
      *
+     * <p>The check is answered from the {@link BorrowingStateCache} with the user id of the
+     * access token, so a rejected request reads nothing from the database.</p>
+     *
      * @param book the {@link Book} to be added to the cart.
      * @return the newly created {@link Cart} entity.
-     * @throws InvalidException if the user is not authenticated, has already borrowed the same book, 
-     *         or has borrowed another book of the same category.
+     * @throws InvalidException if the user is not authenticated, the book does not exist,
+     *         the user has already borrowed the same book, or has borrowed another book of the same category.
      */
     @Override
     public Cart handleAddBookToCart(Book book) throws InvalidException {
-        String email = SecurityUtil.getCurrentUserLogin()
-                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
-        User user = userService.handleGetUserByUsername(email);
-
-        Borrow borrow = borrowBookService.handleFindBorrowByUserAndBookAndStatus(user, book, BorrowStatusEnum.BORROWED);
-        if (borrow != null) {
+        User user = currentUser();
+        BorrowingStateCache.BorrowingState borrowing = borrowingStateCache.get(user.getId());
+        if (borrowing.hasBook(book.getId()) || borrowing.hasCategory(book.getCategory())) {
             throw new InvalidException("Sorry, you have to return the book is borrowed before you borrow the other one.");
         }
-
-        List<Borrow> listBorrow = borrowBookService.findByUserAndStatus(user, BorrowStatusEnum.BORROWED);
-        if (!listBorrow.isEmpty()) {
-            for (Borrow borrow2 : listBorrow) {
-                if (book.getCategory().equals(borrow2.getBook().getCategory())) {
-                    throw new InvalidException("Sorry, you have to return the book is borrowed before you borrow the other one.");
-                }
-            }
-        }
-        Cart newCart = new Cart();
-        if (user != null) {
-            newCart.setSum(1);
-            newCart.setUser(user);
-            newCart.setBook(book);
-            cartRepository.save(newCart);
-        }
-        return newCart;
+        return toCart(cartStore.add(user.getId(), book.getId(), user.getEmail()), user);
     }
 
     /**
      * Retrieves the list of carts associated with the currently authenticated user.
      *
-     * This method fetches the authenticated user's information and returns all cart items belonging to them.
+     * This method returns all cart items belonging to the authenticated user, oldest first.
      * If the user is not authenticated, an {@link InvalidException} is thrown.
      *
      * @return a list of {@link Cart} objects associated with the user.
@@ -78,36 +65,61 @@ public class CartServiceImpl implements ICartService {
      */
     @Override
     public List<Cart> handleGetCartsByUser() throws InvalidException {
-        String email = SecurityUtil.getCurrentUserLogin()
-                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
-        User user = userService.handleGetUserByUsername(email);
-        if (user != null) {
-            return cartRepository.findAllByUser(user);
-        }
-        return new ArrayList<>();
+        User user = currentUser();
+        return cartStore.list(user.getId())
+                        .stream()
+                        .map(entry -> toCart(entry, user))
+                        .collect(Collectors.toList());
     }
 
     /**
      * Deletes a cart by its ID.
      *
-     * This method removes the cart entry from the database based on the provided cart ID.
+     * This method removes the cart entry based on the provided cart ID.
      * If the cart does not exist, no action is taken.
      *
      * @param id the unique identifier of the cart to be deleted.
      */
     public void handleDeleteCartById(long id) {
-        cartRepository.deleteById(id);
+        cartStore.delete(List.of(id));
     }
 
     /**
      * Deletes multiple carts by their IDs.
      *
-     * This method removes all cart entries from the database that match the provided list of IDs.
+     * This method removes all cart entries that match the provided list of IDs.
      * If any ID does not exist, no action is taken for that specific ID.
      *
      * @param ids the list of unique identifiers of the carts to be deleted.
      */
     public void handleDeleteCarts(List<Long> ids) {
-        cartRepository.deleteAllById(ids);
+        cartStore.delete(ids);
+    }
+
+    /**
+     * Identifies the current user from the access token, reading the user only if the
+     * token carries no user id.
+     *
+     * @return a {@link User} holding the id and email of the current user.
+     * @throws InvalidException if the access token is invalid.
+     */
+    private User currentUser() throws InvalidException {
+        String email = SecurityUtil.getCurrentUserLogin()
+                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
+        Long userId = SecurityUtil.getCurrentUserId().orElse(null);
+        if (userId == null) {
+            return userService.handleGetUserByUsername(email);
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+        return user;
+    }
+
+    private Cart toCart(CartStore.CartEntry entry, User user) {
+        Cart cart = new Cart(entry.id(), entry.sum(), user, cartStore.getBook(entry.bookId()));
+        cart.setCreatedAt(entry.createdAt());
+        cart.setCreatedBy(entry.createdBy());
+        return cart;
     }
 }
@@ -1,6 +1,7 @@
 package com.anlb.readcycle.service.impl;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -67,4 +68,21 @@ public class EmailServiceImpl implements IEmailService {
         String content = this.templateEngine.process(templateName, context);
         sendEmailSync(user.getEmail(), subject, content, false, true);
     }
+
+    /**
+     * Asynchronously sends an email built from a predefined template.
+     *
+     * @param to           The recipient's email address.
+     * @param subject      The subject of the email.
+     * @param templateName The name of the email template to be processed.
+     * @param variables    The variables of the template.
+     */
+    @Async
+    @Override
+    public void sendEmailFromTemplateSync(String to, String subject, String templateName, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        String content = this.templateEngine.process(templateName, context);
+        sendEmailSync(to, subject, content, false, true);
+    }
 }
@@ -0,0 +1,117 @@
+package com.anlb.readcycle.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.dto.response.BookExportDto;
+import com.anlb.readcycle.dto.response.BorrowExportDto;
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.service.IExportService;
+import com.anlb.readcycle.service.criteria.BookCriteria;
+import com.anlb.readcycle.service.query.BookQueryService;
+import com.anlb.readcycle.utils.constant.ExportFormatEnum;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the catalog and the borrow history to a response stream.
+ *
+ * Rows are read from a streaming result set and written one at a time, so memory
+ * use does not depend on the size of the export. Each export runs in one read-only
+ * transaction that holds its connection until the last row is written.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements IExportService {
+
+    // rows between flushes of the response, so the client sees progress
+    private static final int FLUSH_EVERY = 1000;
+
+    private final BookQueryService bookQueryService;
+    private final BorrowRepository borrowRepository;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+
+    public ExportServiceImpl(BookQueryService bookQueryService, BorrowRepository borrowRepository, ObjectMapper objectMapper) {
+        this.bookQueryService = bookQueryService;
+        this.borrowRepository = borrowRepository;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /**
+     * Writes the books matching the criteria, in id order.
+     *
+     * @param criteria the filtering criteria containing conditions for querying books.
+     * @param format   the output format.
+     * @param output   the response stream; it is flushed but not closed.
+     * @throws IOException if writing to the stream fails, e.g. the client disconnected.
+     */
+    @Override
+    public void handleExportBooks(BookCriteria criteria, ExportFormatEnum format, OutputStream output) throws IOException {
+        try (Stream<BookExportDto> rows = bookQueryService.streamExportByCriteria(criteria)) {
+            long count = write(rows, BookExportDto.class, format, output);
+            log.info("exported {} books as {}", count, format);
+        }
+    }
+
+    /**
+     * Writes the borrows matching the specification, in id order.
+     *
+     * @param spec   a {@link Specification} of {@link Borrow} for filtering the borrows.
+     * @param format the output format.
+     * @param output the response stream; it is flushed but not closed.
+     * @throws IOException if writing to the stream fails, e.g. the client disconnected.
+     */
+    @Override
+    public void handleExportBorrows(Specification<Borrow> spec, ExportFormatEnum format, OutputStream output) throws IOException {
+        try (Stream<BorrowExportDto> rows = borrowRepository.streamForExport(spec)) {
+            long count = write(rows, BorrowExportDto.class, format, output);
+            log.info("exported {} borrows as {}", count, format);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, Class<T> type, ExportFormatEnum format, OutputStream output) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = writerFor(type, format).writeValues(output)) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (format == ExportFormatEnum.NDJSON && count > 0) {
+            // the separator only goes between values; terminate the last line too
+            output.write('\n');
+        }
+        return count;
+    }
+
+    private ObjectWriter writerFor(Class<?> type, ExportFormatEnum format) {
+        ObjectWriter writer = format == ExportFormatEnum.CSV
+                ? csvMapper.writerFor(type).with(csvMapper.schemaFor(type).withHeader())
+                : objectMapper.writerFor(type).withRootValueSeparator("\n");
+        // the servlet container closes the response stream
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
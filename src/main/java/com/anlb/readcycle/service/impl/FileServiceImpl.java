@@ -17,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.anlb.readcycle.service.IFileService;
+import com.anlb.readcycle.utils.constant.ImportFormatEnum;
 import com.anlb.readcycle.utils.exception.StorageException;
 
 @Service
@@ -86,6 +87,37 @@ public class FileServiceImpl implements IFileService {
         }
     }
 
+    /**
+     * Validates an uploaded catalog import file: it must not be empty and must be
+     * a CSV or NDJSON file.
+     *
+     * @param file the uploaded {@link MultipartFile} to be validated.
+     * @throws StorageException if the file is empty or has an invalid extension.
+     */
+    @Override
+    public void validationImportFile(MultipartFile file) throws StorageException {
+        if (file == null || file.isEmpty()) {
+            throw new StorageException("File is empty. Please upload a file.");
+        }
+        if (ImportFormatEnum.fromFileName(file.getOriginalFilename()) == null) {
+            throw new StorageException("Invalid file extension. only allows [csv, ndjson, jsonl]");
+        }
+    }
+
+    /**
+     * Opens a stored file for reading.
+     *
+     * @param fileName the name returned by {@link #store(MultipartFile)}.
+     * @return a stream over the file content; the caller closes it.
+     * @throws URISyntaxException if the file path URI is invalid.
+     * @throws IOException if the file cannot be opened.
+     */
+    @Override
+    public InputStream load(String fileName) throws URISyntaxException, IOException {
+        URI uri = new URI(baseURI + "/" + fileName);
+        return Files.newInputStream(Paths.get(uri));
+    }
+
     /**
      * Deletes a file from storage.
      *
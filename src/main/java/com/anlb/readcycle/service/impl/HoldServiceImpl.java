@@ -0,0 +1,179 @@
+package com.anlb.readcycle.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.BookHold;
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.dto.request.CreateHoldRequestDto;
+import com.anlb.readcycle.dto.response.HoldResponseDto;
+import com.anlb.readcycle.event.BorrowRecordedEvent;
+import com.anlb.readcycle.event.HoldAllocatedEvent;
+import com.anlb.readcycle.event.UserBorrowsChangedEvent;
+import com.anlb.readcycle.mapper.HoldMapper;
+import com.anlb.readcycle.repository.BookHoldRepository;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.service.IHoldService;
+import com.anlb.readcycle.service.IUserService;
+import com.anlb.readcycle.service.overdue.LoanPolicy;
+import com.anlb.readcycle.utils.SecurityUtil;
+import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
+import com.anlb.readcycle.utils.constant.HoldStatusEnum;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Waitlist of the books that are out of stock.
+ *
+ * The queue of a book is its {@code WAITING} holds in id order. Joining, cancelling
+ * and taking the head are single indexed statements, independent of the length of
+ * the queue and of the borrow history. Joining and allocation both run under the
+ * row lock of the book, so a hold is either seen by the return that frees a copy
+ * or rejected because the copy is already back in stock.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class HoldServiceImpl implements IHoldService {
+
+    private final IUserService userService;
+    private final HoldMapper holdMapper;
+    private final BookRepository bookRepository;
+    private final BookHoldRepository bookHoldRepository;
+    private final BorrowRepository borrowRepository;
+    private final LoanPolicy loanPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Puts the current user at the end of the waitlist of a book.
+     *
+     * @param request the book to wait for.
+     * @return the new hold and its position in the queue.
+     * @throws InvalidException if the book does not exist, is inactive or in stock,
+     *                          or the user already borrows or waits for it.
+     */
+    @Override
+    public HoldResponseDto handleCreateHold(CreateHoldRequestDto request) throws InvalidException {
+        if (request.getBookId() == null) {
+            throw new InvalidException("Book id is required");
+        }
+        User user = currentUser();
+        List<Book> books = bookRepository.findAllByIdForUpdate(List.of(request.getBookId()));
+        if (books.isEmpty() || !books.get(0).isActive()) {
+            throw new InvalidException("Book with id: " + request.getBookId() + " does not exists");
+        }
+        Book book = books.get(0);
+        if (book.getQuantity() > 0) {
+            throw new InvalidException("The book is available, borrow it instead");
+        }
+        if (bookHoldRepository.existsByUserIdAndBookIdAndStatus(user.getId(), book.getId(), HoldStatusEnum.WAITING)) {
+            throw new InvalidException("You are already waiting for this book");
+        }
+        if (borrowRepository.findByUserAndBookAndStatus(user, book, BorrowStatusEnum.BORROWED) != null) {
+            throw new InvalidException("You already borrow this book");
+        }
+
+        BookHold hold = new BookHold();
+        hold.setUser(user);
+        hold.setBook(book);
+        hold.setStatus(HoldStatusEnum.WAITING);
+        hold = bookHoldRepository.save(hold);
+        return holdMapper.convertHoldToHoldResponseDto(hold, bookHoldRepository.countWaitingUpTo(book.getId(), hold.getId()));
+    }
+
+    /**
+     * Retrieves the holds the current user is waiting on, oldest first.
+     *
+     * @return the waiting holds with their position in the queue of their book.
+     * @throws InvalidException if the access token is invalid.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<HoldResponseDto> handleGetHoldsByUser() throws InvalidException {
+        return bookHoldRepository.findByUserAndStatusOrderByIdAsc(currentUser(), HoldStatusEnum.WAITING)
+                                        .stream()
+                                        .map(hold -> holdMapper.convertHoldToHoldResponseDto(hold,
+                                                bookHoldRepository.countWaitingUpTo(hold.getBook().getId(), hold.getId())))
+                                        .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes a waiting hold of the current user from its queue.
+     *
+     * @param id the id of the hold.
+     * @throws InvalidException if the hold does not exist, belongs to another user
+     *                          or is no longer waiting.
+     */
+    @Override
+    public void handleCancelHold(long id) throws InvalidException {
+        if (bookHoldRepository.cancelWaiting(id, currentUser().getId()) == 0) {
+            throw new InvalidException("Hold not found or no longer waiting");
+        }
+    }
+
+    /**
+     * Lends returned or restocked copies of a book to the users at the head of
+     * its waitlist.
+     *
+     * Must be called in the transaction that adds the copies, with the book
+     * locked: every path that raises a book's stock goes through here, so a
+     * book never has copies in stock while users are still waiting. Each
+     * allocated hold gets a {@code BORROWED} borrow and is marked {@code FULFILLED};
+     * the waiter is notified once the transaction commits.
+     *
+     * @param book   the locked book, before its stock is changed.
+     * @param copies the number of copies returned or added.
+     * @return the number of copies allocated, the rest go back in stock.
+     */
+    @Override
+    public int handleAllocateReturnedCopies(Book book, int copies) {
+        List<BookHold> holds = bookHoldRepository.findFirstWaitingForUpdate(book.getId(), copies);
+        if (holds.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        List<Borrow> borrows = new ArrayList<>(holds.size());
+        for (BookHold hold : holds) {
+            Borrow borrow = new Borrow();
+            borrow.setUser(hold.getUser());
+            borrow.setBook(book);
+            borrow.setStatus(BorrowStatusEnum.BORROWED);
+            borrow.setDueDate(loanPolicy.dueDate(now));
+            borrows.add(borrow);
+        }
+        borrows = borrowRepository.saveAll(borrows);
+
+        for (int i = 0; i < holds.size(); i++) {
+            BookHold hold = holds.get(i);
+            Borrow borrow = borrows.get(i);
+            hold.setStatus(HoldStatusEnum.FULFILLED);
+            hold.setBorrowId(borrow.getId());
+            hold.setFulfilledAt(now);
+            eventPublisher.publishEvent(new BorrowRecordedEvent(hold.getUser().getId(), List.of(book.getId())));
+            eventPublisher.publishEvent(UserBorrowsChangedEvent.opened(hold.getUser().getId(),
+                    List.of(new UserBorrowsChangedEvent.Opened(borrow.getId(), book.getId(), book.getCategory()))));
+            eventPublisher.publishEvent(new HoldAllocatedEvent(hold.getId(), borrow.getId(),
+                    hold.getUser().getEmail(), book.getTitle()));
+        }
+        log.debug("{} returned copies of book {} allocated to waiting holds", holds.size(), book.getId());
+        return holds.size();
+    }
+
+    private User currentUser() throws InvalidException {
+        String email = SecurityUtil.getCurrentUserLogin()
+                            .orElseThrow(() -> new InvalidException("Access Token invalid"));
+        return userService.handleGetUserByUsername(email);
+    }
+}
@@ -0,0 +1,170 @@
+package com.anlb.readcycle.service.impl;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.anlb.readcycle.domain.ImportJob;
+import com.anlb.readcycle.domain.ImportJobError;
+import com.anlb.readcycle.dto.response.BulkCreateResponseDto;
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.dto.response.ResultPaginateDto.Meta;
+import com.anlb.readcycle.mapper.ImportJobMapper;
+import com.anlb.readcycle.repository.ImportJobErrorRepository;
+import com.anlb.readcycle.repository.ImportJobRepository;
+import com.anlb.readcycle.service.IFileService;
+import com.anlb.readcycle.service.IImportJobService;
+import com.anlb.readcycle.service.batch.BookImportRunner;
+import com.anlb.readcycle.utils.SecurityUtil;
+import com.anlb.readcycle.utils.constant.ImportFormatEnum;
+import com.anlb.readcycle.utils.constant.ImportJobStatusEnum;
+import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.exception.StorageException;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class ImportJobServiceImpl implements IImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final IFileService fileService;
+    private final BookImportRunner bookImportRunner;
+    private final ImportJobMapper importJobMapper;
+
+    @Value("${anlb.upload-file.base-uri}")
+    private String baseURI;
+
+    @Value("${anlb.book-import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Stores an uploaded CSV or NDJSON catalog file and queues an import job for it.
+     *
+     * The job row is committed before it is queued, so the background runner
+     * always finds it.
+     *
+     * @param file the uploaded file; CSV needs a header row with the book field names.
+     * @return the saved {@link ImportJob} in {@code PENDING} status.
+     * @throws StorageException if the file is empty or has an unsupported extension.
+     * @throws URISyntaxException if the upload path URI is invalid.
+     * @throws IOException if the file cannot be stored.
+     * @throws InvalidException if the request is not authenticated.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportJob handleCreateImportJob(MultipartFile file) throws StorageException, URISyntaxException, IOException, InvalidException {
+        SecurityUtil.getCurrentUserLogin()
+                .orElseThrow(() -> new InvalidException("Access Token invalid"));
+        fileService.validationImportFile(file);
+        fileService.createDirectory(baseURI + "");
+        String fileName = fileService.store(file);
+
+        ImportJob job = new ImportJob();
+        job.setFileName(fileName);
+        job.setFormat(ImportFormatEnum.fromFileName(file.getOriginalFilename()));
+        job.setStatus(ImportJobStatusEnum.PENDING);
+        job.setChunkSize(Math.max(1, chunkSize));
+        job = importJobRepository.save(job);
+
+        bookImportRunner.submit(job.getId());
+        return job;
+    }
+
+    /**
+     * Retrieves an import job by its id.
+     *
+     * @param id the id of the job.
+     * @return the {@link ImportJob} with its current progress.
+     * @throws InvalidException if no job exists with the given id.
+     */
+    @Override
+    public ImportJob handleGetImportJobById(long id) throws InvalidException {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new InvalidException("Import job with id: " + id + " does not exist"));
+    }
+
+    /**
+     * Retrieves a paginated list of import jobs.
+     *
+     * @param pageable the pagination information.
+     * @return a {@link ResultPaginateDto} with the jobs and pagination metadata.
+     */
+    @Override
+    public ResultPaginateDto handleGetAllImportJobs(Pageable pageable) {
+        Page<ImportJob> dbJobs = importJobRepository.findAll(pageable);
+        ResultPaginateDto resultPaginateDto = new ResultPaginateDto();
+        Meta meta = new Meta();
+        meta.setPage(pageable.getPageNumber() + 1);
+        meta.setPageSize(pageable.getPageSize());
+
+        meta.setPages(dbJobs.getTotalPages());
+        meta.setTotal(dbJobs.getTotalElements());
+
+        resultPaginateDto.setMeta(meta);
+        resultPaginateDto.setResult(dbJobs.getContent()
+                .stream()
+                .map(importJobMapper::convertImportJobToImportJobResponseDto)
+                .collect(Collectors.toList()));
+        return resultPaginateDto;
+    }
+
+    /**
+     * Queues a failed import job again; it continues after its last checkpoint.
+     *
+     * @param id the id of the job.
+     * @return the job in {@code PENDING} status.
+     * @throws InvalidException if the job does not exist or has not failed.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportJob handleResumeImportJob(long id) throws InvalidException {
+        ImportJob job = this.handleGetImportJobById(id);
+        if (job.getStatus() != ImportJobStatusEnum.FAILED) {
+            throw new InvalidException("Only failed import jobs can be resumed");
+        }
+        job.setStatus(ImportJobStatusEnum.PENDING);
+        job = importJobRepository.save(job);
+
+        bookImportRunner.submit(job.getId());
+        return job;
+    }
+
+    /**
+     * Retrieves the rejected rows of an import job with their reasons, in file order.
+     *
+     * @param id       the id of the job.
+     * @param pageable the pagination information.
+     * @return a {@link ResultPaginateDto} with the rejected rows and pagination metadata.
+     * @throws InvalidException if no job exists with the given id.
+     */
+    @Override
+    public ResultPaginateDto handleGetImportJobErrors(long id, Pageable pageable) throws InvalidException {
+        this.handleGetImportJobById(id);
+        Page<ImportJobError> dbErrors = importJobErrorRepository.findByJobIdOrderByFileRowAsc(id, pageable);
+        ResultPaginateDto resultPaginateDto = new ResultPaginateDto();
+        Meta meta = new Meta();
+        meta.setPage(pageable.getPageNumber() + 1);
+        meta.setPageSize(pageable.getPageSize());
+
+        meta.setPages(dbErrors.getTotalPages());
+        meta.setTotal(dbErrors.getTotalElements());
+
+        resultPaginateDto.setMeta(meta);
+        resultPaginateDto.setResult(dbErrors.getContent()
+                .stream()
+                .map(error -> new BulkCreateResponseDto.RowError((int) error.getFileRow(), error.getTitle(), error.getMessage()))
+                .collect(Collectors.toList()));
+        return resultPaginateDto;
+    }
+}
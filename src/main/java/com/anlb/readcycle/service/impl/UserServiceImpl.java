@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.dto.request.ChangePasswordRequestDto;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
 import com.anlb.readcycle.dto.request.UpdateUserRequestDto;
 import com.anlb.readcycle.dto.response.LoginResponseDto;
 import com.anlb.readcycle.dto.response.ResultPaginateDto;
@@ -30,11 +32,15 @@ import com.anlb.readcycle.service.IMaintenanceService;
 import com.anlb.readcycle.service.IRoleService;
 import com.anlb.readcycle.service.IUserLogService;
 import com.anlb.readcycle.service.IUserService;
+import com.anlb.readcycle.service.cache.CountEstimateCache;
 import com.anlb.readcycle.service.criteria.UserCriteria;
 import com.anlb.readcycle.service.query.UserQueryService;
 import com.anlb.readcycle.utils.SecurityUtil;
+import com.anlb.readcycle.utils.constant.PagingModeEnum;
 import com.anlb.readcycle.utils.exception.InvalidException;
 import com.anlb.readcycle.utils.exception.RegisterValidator;
+import com.anlb.readcycle.utils.pagination.KeysetPagination;
+import com.anlb.readcycle.utils.pagination.SlicePagination;
 
 import lombok.RequiredArgsConstructor;
 
@@ -51,6 +57,7 @@ public class UserServiceImpl implements IUserService {
     private final PasswordEncoder passwordEncoder;
     private final UserQueryService userQueryService;
     private final IMaintenanceService maintenanceService;
+    private final CountEstimateCache countEstimateCache;
 
     /**
      * Handles the registration process for a new member.
@@ -328,12 +335,19 @@ public class UserServiceImpl implements IUserService {
     /**
      * Retrieves a paginated list of users based on the provided specification.
      *
-     * @param spec     The specification to filter users.
-     * @param pageable The pagination and sorting information.
+     * @param spec       The specification to filter users.
+     * @param pageable   The pagination and sorting information.
+     * @param pagination The optional keyset cursor.
      * @return A {@link ResultPaginateDto} containing the paginated user list and metadata.
+     * @throws InvalidException if the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetAllUsers(Specification<User> spec, Pageable pageable) {
+    public ResultPaginateDto handleGetAllUsers(Specification<User> spec, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
+        if (pagination.usesCursor()) {
+            return KeysetPagination.toResponse(KeysetPagination.fetch(userRepository, spec, pageable, pagination.getCursor(),
+                    UserQueryService.CURSOR_SORT_KEYS),
+                    pageable, userMapper::convertUserToUserResponseDto);
+        }
         Page<User> pageUser = userRepository.findAll(spec, pageable);
         ResultPaginateDto rs = new ResultPaginateDto();
         ResultPaginateDto.Meta mt = new ResultPaginateDto.Meta();
@@ -502,10 +516,27 @@ public class UserServiceImpl implements IUserService {
      *
      * @param userCriteria the filtering criteria for retrieving users.
      * @param pageable     the pagination details.
+     * @param pagination   the optional keyset cursor and paging mode; {@code SLICE}
+     *                     and {@code ESTIMATED} skip the exact count.
      * @return a {@link ResultPaginateDto} containing the paginated user list and metadata.
+     * @throws InvalidException if the cursor is not valid.
      */
     @Override
-    public ResultPaginateDto handleGetAllUsers(UserCriteria userCriteria, Pageable pageable) {
+    public ResultPaginateDto handleGetAllUsers(UserCriteria userCriteria, Pageable pageable, PaginationRequestDto pagination) throws InvalidException {
+        if (pagination.usesCursor()) {
+            KeysetPagination.Window<User> window = userQueryService.findWindowByCriteria(userCriteria, pageable, pagination.getCursor());
+            return KeysetPagination.toResponse(window, pageable, userMapper::convertUserToUserResponseDto);
+        }
+        PagingModeEnum paging = pagination.getPaging();
+        if (paging != PagingModeEnum.EXACT) {
+            Slice<User> slice = userQueryService.findSliceByCriteria(userCriteria, pageable);
+            if (paging == PagingModeEnum.SLICE) {
+                return SlicePagination.toResponse(slice, userMapper::convertUserToUserResponseDto);
+            }
+            UserCriteria criteria = userCriteria.copy();
+            long estimate = countEstimateCache.estimate("users", criteria, () -> userQueryService.countByCriteria(criteria));
+            return SlicePagination.toResponse(slice, estimate, userMapper::convertUserToUserResponseDto);
+        }
         Page<User> pageUser = userQueryService.findByCriteria(userCriteria, pageable);
         ResultPaginateDto response = new ResultPaginateDto();
         ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
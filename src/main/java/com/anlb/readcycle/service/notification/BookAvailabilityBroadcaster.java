@@ -0,0 +1,392 @@
+package com.anlb.readcycle.service.notification;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.dto.response.BookAvailabilityDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes stock changes of books to clients subscribed over server-sent events.
+ *
+ * A subscription is an {@link SseEmitter} on an asynchronous request, so an idle
+ * connection holds no request thread, only its socket and a few objects here.
+ * Committed {@link BookChangedEvent}s that change the quantity, status or active
+ * flag of a book are fanned out by a single dispatcher thread, which only appends
+ * them to a bounded queue per subscription; the committing request never waits on
+ * a client socket. Each queue is written by one task at a time on a pool of writer
+ * threads, so a client that stops reading holds at most one writer. A subscription
+ * whose queue overflows ({@code anlb.availability-stream.queue-size}), whose write
+ * takes longer than {@code anlb.availability-stream.write-timeout} or that fails a
+ * write is dropped.
+ *
+ * A blocked write cannot be aborted from here: completing the emitter waits for
+ * the send in progress, which only returns once the container's socket write
+ * timeout fires. So every write declared stuck adds a thread to the writer pool
+ * until it returns, and stuck clients never take writers away from the other
+ * streams.
+ */
+@Slf4j
+@Service
+public class BookAvailabilityBroadcaster {
+
+    public static final String EVENT_NAME = "availability";
+
+    // queued in place of a change to send a heartbeat comment; compared by identity
+    private static final BookAvailabilityDto HEARTBEAT = new BookAvailabilityDto();
+
+    private final BookRepository bookRepository;
+    private final long timeoutMillis;
+    private final int maxBooks;
+    private final int queueSize;
+    private final long writeTimeoutMillis;
+
+    // book id -> subscriptions interested in it
+    private final ConcurrentHashMap<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    // fans changes out to the queues, never writes to a socket
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ThreadPoolExecutor writers;
+
+    public BookAvailabilityBroadcaster(BookRepository bookRepository,
+            @Value("${anlb.availability-stream.timeout:PT30M}") Duration timeout,
+            @Value("${anlb.availability-stream.max-books:100}") int maxBooks,
+            @Value("${anlb.availability-stream.queue-size:64}") int queueSize,
+            @Value("${anlb.availability-stream.write-timeout:PT10S}") Duration writeTimeout,
+            @Value("${anlb.availability-stream.writer-threads:8}") int writerThreads) {
+        this.bookRepository = bookRepository;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxBooks = maxBooks;
+        this.queueSize = queueSize;
+        this.writeTimeoutMillis = writeTimeout.toMillis();
+        int threads = Math.max(1, writerThreads);
+        this.writers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "availability-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * One stream and its pending events. The queue and flags are guarded by the
+     * subscription's monitor; the emitter is only used by the drain task.
+     */
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private final Set<Long> bookIds;
+        private final ArrayDeque<BookAvailabilityDto> queue = new ArrayDeque<>();
+
+        // books that had a change queued before the snapshot; their snapshot is older and skipped
+        private Set<Long> changedBeforeSnapshot = new HashSet<>();
+        private boolean draining;
+        private boolean closed;
+
+        // a write outlived the write timeout; its writer thread is replaced in the pool until the write returns
+        private boolean stuck;
+
+        // start of the write in progress, 0 when idle
+        private volatile long writeStartedAt;
+
+        Subscription(SseEmitter emitter, Set<Long> bookIds) {
+            this.emitter = emitter;
+            this.bookIds = bookIds;
+        }
+    }
+
+    /**
+     * Opens a stream of availability changes for the given books.
+     *
+     * The current availability of every existing book is sent first, so a client
+     * does not need a separate read; the stream then carries one
+     * {@value #EVENT_NAME} event per change and ends after
+     * {@code anlb.availability-stream.timeout}, after which the client reconnects.
+     *
+     * @param bookIds the books to watch.
+     * @return the emitter of the stream.
+     * @throws InvalidException if no book or more than {@code anlb.availability-stream.max-books} are given.
+     */
+    public SseEmitter subscribe(Collection<Long> bookIds) throws InvalidException {
+        Set<Long> ids = new LinkedHashSet<>(bookIds);
+        ids.remove(null);
+        if (ids.isEmpty() || ids.size() > maxBooks) {
+            throw new InvalidException("Between 1 and " + maxBooks + " book ids are required");
+        }
+
+        Subscription subscription = new Subscription(new SseEmitter(timeoutMillis), ids);
+        subscription.emitter.onCompletion(() -> unregister(subscription));
+        subscription.emitter.onTimeout(() -> unregister(subscription));
+        subscription.emitter.onError(error -> unregister(subscription));
+        // register before reading, so a change committed meanwhile is pushed after the snapshot
+        register(subscription);
+
+        // queued like the changes, so a change queued meanwhile is not overtaken by an older snapshot
+        Iterable<BookSummaryDto> snapshot = bookRepository.findSummariesByIdIn(ids);
+        synchronized (subscription) {
+            for (BookSummaryDto book : snapshot) {
+                if (!subscription.changedBeforeSnapshot.contains(book.getId())) {
+                    enqueue(subscription, new BookAvailabilityDto(book.getId(), book.getQuantity(), book.getStatus(), book.isActive()));
+                }
+            }
+            subscription.changedBeforeSnapshot = null;
+        }
+        return subscription.emitter;
+    }
+
+    /**
+     * Queues the change for the subscribers of the book once its transaction has
+     * committed, if it changed what the stream reports.
+     *
+     * @param event the committed book change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Book previous = event.getPrevious();
+        Book current = event.getCurrent();
+        BookAvailabilityDto availability = current == null
+                ? new BookAvailabilityDto(event.getBookId(), 0, previous.getStatus(), false)
+                : new BookAvailabilityDto(current.getId(), current.getQuantity(), current.getStatus(), current.isActive());
+        if (previous != null && current != null && previous.getQuantity() == current.getQuantity()
+                && Objects.equals(previous.getStatus(), current.getStatus()) && previous.isActive() == current.isActive()) {
+            return;
+        }
+        if (!subscribers.containsKey(event.getBookId())) {
+            return;
+        }
+        dispatch(() -> {
+            Set<Subscription> watching = subscribers.get(availability.getBookId());
+            if (watching == null) {
+                return;
+            }
+            for (Subscription subscription : watching) {
+                synchronized (subscription) {
+                    if (subscription.changedBeforeSnapshot != null) {
+                        subscription.changedBeforeSnapshot.add(availability.getBookId());
+                    }
+                    enqueue(subscription, availability);
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues the changes of a committed batch for their subscribers.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    /**
+     * Queues a comment on every stream, so proxies keep idle connections open and
+     * connections closed by clients are detected, and drops the streams whose
+     * current write has been blocked for longer than the write timeout, adding a
+     * writer thread in place of each one still blocked.
+     */
+    @Scheduled(fixedDelayString = "${anlb.availability-stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        dispatch(() -> {
+            long now = System.currentTimeMillis();
+            for (Subscription subscription : subscriptions) {
+                long writeStartedAt = subscription.writeStartedAt;
+                synchronized (subscription) {
+                    if (writeStartedAt != 0 && now - writeStartedAt > writeTimeoutMillis) {
+                        if (!subscription.stuck) {
+                            log.debug("availability stream dropped: a write is blocked for {} ms", now - writeStartedAt);
+                            subscription.stuck = true;
+                            resizeWriters(1);
+                            close(subscription);
+                        }
+                    } else {
+                        enqueue(subscription, HEARTBEAT);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of open streams.
+     */
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("availability dispatcher is shut down");
+        }
+    }
+
+    // a builder accumulates its output when built, so every send needs a new one
+    private static SseEmitter.SseEventBuilder toEvent(BookAvailabilityDto availability) {
+        if (availability == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(availability, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Appends an event to the queue of the subscription and starts its drain task if
+     * none runs; a full queue closes the subscription. Called holding its monitor.
+     */
+    private void enqueue(Subscription subscription, BookAvailabilityDto event) {
+        if (subscription.closed) {
+            return;
+        }
+        if (subscription.queue.size() >= queueSize) {
+            log.debug("availability stream dropped: {} events pending", subscription.queue.size());
+            close(subscription);
+            return;
+        }
+        subscription.queue.add(event);
+        startDrain(subscription);
+    }
+
+    /**
+     * Stops queueing to the subscription; its drain task completes the emitter.
+     * Called holding its monitor.
+     */
+    private void close(Subscription subscription) {
+        subscription.closed = true;
+        subscription.queue.clear();
+        unregister(subscription);
+        startDrain(subscription);
+    }
+
+    private void startDrain(Subscription subscription) {
+        if (subscription.draining) {
+            return;
+        }
+        subscription.draining = true;
+        try {
+            writers.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException e) {
+            subscription.draining = false;
+            log.debug("availability writers are shut down");
+        }
+    }
+
+    /**
+     * Writes the queued events of one subscription in order; the only code sending
+     * to or completing its emitter.
+     */
+    private void drain(Subscription subscription) {
+        while (true) {
+            BookAvailabilityDto event;
+            synchronized (subscription) {
+                event = subscription.closed ? null : subscription.queue.poll();
+                if (event == null) {
+                    subscription.draining = false;
+                    if (subscription.closed) {
+                        subscription.emitter.complete();
+                    }
+                    if (subscription.stuck) {
+                        // the blocked write has returned: give back the thread added in its place
+                        subscription.stuck = false;
+                        resizeWriters(-1);
+                    }
+                    return;
+                }
+            }
+            subscription.writeStartedAt = System.currentTimeMillis();
+            try {
+                subscription.emitter.send(toEvent(event));
+            } catch (IOException | IllegalStateException e) {
+                synchronized (subscription) {
+                    close(subscription);
+                }
+            } finally {
+                subscription.writeStartedAt = 0;
+            }
+        }
+    }
+
+    /**
+     * Grows or shrinks the writer pool; a shrink lets the surplus threads end once idle.
+     */
+    private void resizeWriters(int delta) {
+        synchronized (writers) {
+            int size = writers.getMaximumPoolSize() + delta;
+            if (delta > 0) {
+                writers.setMaximumPoolSize(size);
+                writers.setCorePoolSize(size);
+            } else {
+                writers.setCorePoolSize(size);
+                writers.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void register(Subscription subscription) {
+        subscriptions.add(subscription);
+        for (Long bookId : subscription.bookIds) {
+            // compute keeps the add atomic with the removal of an emptied set in unregister
+            subscribers.compute(bookId, (id, watching) -> {
+                Set<Subscription> result = watching == null ? ConcurrentHashMap.newKeySet() : watching;
+                result.add(subscription);
+                return result;
+            });
+        }
+    }
+
+    private void unregister(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) {
+            return;
+        }
+        for (Long bookId : subscription.bookIds) {
+            subscribers.computeIfPresent(bookId, (id, watching) -> {
+                watching.remove(subscription);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.anlb.readcycle.service.notification;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.event.HoldAllocatedEvent;
+import com.anlb.readcycle.service.IEmailService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tells waiters by email that a returned copy has been lent to them.
+ */
+@Service
+@RequiredArgsConstructor
+public class HoldNotifier {
+
+    public static final String TEMPLATE = "hold-allocated";
+
+    private final IEmailService emailService;
+
+    /**
+     * Sends the email once the return that allocated the copy has committed; the
+     * email is sent asynchronously, so the return does not wait for the mail server.
+     *
+     * @param event the committed allocation.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHoldAllocated(HoldAllocatedEvent event) {
+        emailService.sendEmailFromTemplateSync(event.getEmail(), "Your book is ready", TEMPLATE,
+                Map.of("email", event.getEmail(), "bookTitle", event.getBookTitle()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.anlb.readcycle.service.overdue;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * How long a borrowed copy may be kept.
+ */
+@Component
+public class LoanPolicy {
+
+    private final Duration loanPeriod;
+
+    public LoanPolicy(@Value("${anlb.overdue.loan-period:P14D}") Duration loanPeriod) {
+        this.loanPeriod = loanPeriod;
+    }
+
+    public Duration getLoanPeriod() {
+        return loanPeriod;
+    }
+
+    /**
+     * @param borrowedAt when the copy was lent.
+     * @return when it has to be returned.
+     */
+    public Instant dueDate(Instant borrowedAt) {
+        return borrowedAt.plus(loanPeriod);
+    }
+}
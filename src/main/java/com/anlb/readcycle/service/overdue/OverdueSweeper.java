@@ -0,0 +1,209 @@
+package com.anlb.readcycle.service.overdue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.repository.projection.OverdueKeyView;
+import com.anlb.readcycle.repository.projection.OverdueReminderView;
+import com.anlb.readcycle.service.IEmailService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodic sweep sending a reminder for every {@code BORROWED} borrow past its due date.
+ *
+ * The sweep walks {@code idx_borrows_overdue} in {@code (due_date, id)} keyset chunks
+ * of {@code anlb.overdue.chunk-size}, so each read is a short range scan whatever the
+ * size of the table. Chunks are handed to {@code anlb.overdue.parallelism} workers,
+ * and at most that many are in flight, which bounds the memory of a run. A run stops
+ * taking chunks after {@code anlb.overdue.max-run-time}; the next run continues with
+ * the borrows still unreminded.
+ *
+ * A worker claims its chunk with {@code SELECT ... FOR UPDATE SKIP LOCKED}, marks the
+ * borrows reminded and commits before sending the emails. Nodes sweeping at the same
+ * time therefore skip each other's rows and every borrow is reminded at most once; a
+ * reminder whose email fails is not retried.
+ */
+@Slf4j
+@Service
+public class OverdueSweeper {
+
+    public static final String TEMPLATE = "overdue-reminder";
+
+    private static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy").withZone(ZoneOffset.UTC);
+
+    private final BorrowRepository borrowRepository;
+    private final IEmailService emailService;
+    private final LoanPolicy loanPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration maxRunTime;
+    private final ExecutorService workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Timer runs;
+    private final Counter chunks;
+    private final Counter reminders;
+    // overdue borrows read and reminded by the current, or last, run
+    private final AtomicLong runScanned = new AtomicLong();
+    private final AtomicLong runReminded = new AtomicLong();
+
+    public OverdueSweeper(BorrowRepository borrowRepository,
+            IEmailService emailService,
+            LoanPolicy loanPolicy,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${anlb.overdue.chunk-size:500}") int chunkSize,
+            @Value("${anlb.overdue.parallelism:4}") int parallelism,
+            @Value("${anlb.overdue.max-run-time:PT5M}") Duration maxRunTime) {
+        this.borrowRepository = borrowRepository;
+        this.emailService = emailService;
+        this.loanPolicy = loanPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxRunTime = maxRunTime;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "overdue-sweep-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.runs = Timer.builder("overdue.sweep.runs")
+                .description("Duration of the overdue sweeps")
+                .register(meterRegistry);
+        this.chunks = Counter.builder("overdue.sweep.chunks")
+                .description("Chunks of overdue borrows processed")
+                .register(meterRegistry);
+        this.reminders = Counter.builder("overdue.sweep.reminders")
+                .description("Overdue reminders sent")
+                .register(meterRegistry);
+        Gauge.builder("overdue.sweep.run.scanned", runScanned, AtomicLong::get)
+                .description("Overdue borrows read by the current or last sweep")
+                .register(meterRegistry);
+        Gauge.builder("overdue.sweep.run.reminded", runReminded, AtomicLong::get)
+                .description("Reminders sent by the current or last sweep")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Sends the reminders of the borrows overdue at the start of the run. Skipped if a
+     * sweep is already running on this node.
+     */
+    @Scheduled(initialDelayString = "${anlb.overdue.sweep-interval:PT15M}",
+            fixedDelayString = "${anlb.overdue.sweep-interval:PT15M}")
+    public void sweep() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        runScanned.set(0);
+        runReminded.set(0);
+        Timer.Sample sample = Timer.start();
+        try {
+            Instant now = Instant.now();
+            long deadline = System.nanoTime() + maxRunTime.toNanos();
+            int backfilled = transactionTemplate.execute(status ->
+                    borrowRepository.backfillDueDates(loanPolicy.getLoanPeriod().toSeconds(), chunkSize));
+            if (backfilled > 0) {
+                log.info("due date set on {} borrows made before due dates existed", backfilled);
+            }
+
+            Semaphore inFlight = new Semaphore(parallelism);
+            Instant afterDueDate = Instant.EPOCH;
+            long afterId = 0;
+            while (System.nanoTime() < deadline) {
+                List<OverdueKeyView> keys = borrowRepository.findOverdueKeysAfter(now, afterDueDate, afterId,
+                        PageRequest.ofSize(chunkSize));
+                if (keys.isEmpty()) {
+                    break;
+                }
+                OverdueKeyView last = keys.get(keys.size() - 1);
+                afterDueDate = last.getDueDate();
+                afterId = last.getId();
+                runScanned.addAndGet(keys.size());
+
+                List<Long> ids = keys.stream().map(OverdueKeyView::getId).collect(Collectors.toList());
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        remind(ids);
+                    } catch (RuntimeException e) {
+                        log.error("overdue reminders of {} borrows failed", ids.size(), e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                if (keys.size() < chunkSize) {
+                    break;
+                }
+            }
+            // wait for the chunks still in flight
+            if (!inFlight.tryAcquire(parallelism, maxRunTime.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("overdue sweep ended with chunks still running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            long nanos = sample.stop(runs);
+            running.set(false);
+            log.info("overdue sweep read {} borrows and sent {} reminders in {} ms",
+                    runScanned.get(), runReminded.get(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * Claims the borrows still unreminded, marks them reminded and, once committed,
+     * sends their reminders.
+     */
+    private void remind(List<Long> ids) {
+        List<OverdueReminderView> claimed = transactionTemplate.execute(status -> {
+            List<OverdueReminderView> rows = borrowRepository.claimOverdueForUpdate(ids);
+            if (!rows.isEmpty()) {
+                borrowRepository.markReminded(rows.stream().map(OverdueReminderView::getId).collect(Collectors.toList()),
+                        Instant.now());
+            }
+            return rows;
+        });
+        for (OverdueReminderView borrow : claimed) {
+            emailService.sendEmailFromTemplateSync(borrow.getEmail(), "Your borrowed book is overdue", TEMPLATE,
+                    Map.of("email", borrow.getEmail(), "bookTitle", borrow.getTitle(), "dueDate", DUE_DATE_FORMAT.format(borrow.getDueDate())));
+        }
+        chunks.increment();
+        reminders.increment(claimed.size());
+        runReminded.addAndGet(claimed.size());
+    }
+}
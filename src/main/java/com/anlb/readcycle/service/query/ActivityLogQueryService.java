@@ -5,6 +5,8 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -39,6 +41,52 @@ public class ActivityLogQueryService extends QueryService<ActivityLog> {
     public Page<ActivityLog> findByCriteria(ActivityCriteria activityCriteria, Pageable pageable) {
         log.debug("find by criteria : {}, page: {}", activityCriteria, pageable);
 
+        Query query = createQuery(activityCriteria);
+
+        long total = mongoTemplate.count(query, ActivityLog.class);
+        List<ActivityLog> logs = mongoTemplate.find(query.with(pageable), ActivityLog.class);
+
+        return new PageImpl<>(logs, pageable, total);
+    }
+
+    /**
+     * Retrieves one page of activity logs that match the specified criteria without
+     * counting the collection: one extra document is read to know whether more follow.
+     *
+     * @param activityCriteria the filtering criteria containing conditions for querying activity logs.
+     * @param pageable the pagination information including page number and size.
+     * @return a {@link Slice} containing the activity logs of the page.
+     */
+    public Slice<ActivityLog> findSliceByCriteria(ActivityCriteria activityCriteria, Pageable pageable) {
+        log.debug("find slice by criteria : {}, page: {}", activityCriteria, pageable);
+
+        int size = pageable.getPageSize();
+        Query query = createQuery(activityCriteria).with(pageable).limit(size + 1);
+        List<ActivityLog> logs = mongoTemplate.find(query, ActivityLog.class);
+
+        boolean hasNext = logs.size() > size;
+        return new SliceImpl<>(hasNext ? logs.subList(0, size) : logs, pageable, hasNext);
+    }
+
+    /**
+     * Counts the activity logs that match the specified criteria.
+     *
+     * @param activityCriteria the filtering criteria containing conditions for querying activity logs.
+     * @return the number of matching activity logs.
+     */
+    public long countByCriteria(ActivityCriteria activityCriteria) {
+        log.debug("count by criteria : {}", activityCriteria);
+        return mongoTemplate.count(createQuery(activityCriteria), ActivityLog.class);
+    }
+
+    /**
+     * Builds the MongoDB {@link Query} for the given criteria, filtering on
+     * activity group and activity type.
+     *
+     * @param activityCriteria the filtering criteria containing conditions for querying activity logs.
+     * @return the query without paging applied.
+     */
+    private Query createQuery(ActivityCriteria activityCriteria) {
         Query query = new Query();
 
         if (activityCriteria.getActivityGroup() != null && activityCriteria.getActivityGroup().getEquals() != null) {
@@ -54,10 +102,7 @@ public class ActivityLogQueryService extends QueryService<ActivityLog> {
             }
         }
 
-        long total = mongoTemplate.count(query, ActivityLog.class);
-        List<ActivityLog> logs = mongoTemplate.find(query.with(pageable), ActivityLog.class);
-
-        return new PageImpl<>(logs, pageable, total);
+        return query;
     }
 
 }
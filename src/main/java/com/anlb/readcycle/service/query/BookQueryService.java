@@ -1,15 +1,26 @@
 package com.anlb.readcycle.service.query;
 
+import java.time.Instant;
+import java.util.Map;
+import java.util.stream.Stream;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.anlb.readcycle.domain.Book;
 import com.anlb.readcycle.domain.Book_;
+import com.anlb.readcycle.dto.response.BookExportDto;
+import com.anlb.readcycle.dto.response.BookSummaryDto;
 import com.anlb.readcycle.repository.BookRepository;
 import com.anlb.readcycle.service.criteria.BookCriteria;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.pagination.KeysetCursor;
+import com.anlb.readcycle.utils.pagination.KeysetPagination;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -21,6 +32,18 @@ import tech.jhipster.service.QueryService;
 @RequiredArgsConstructor
 public class BookQueryService extends QueryService<Book> {
 
+    // attributes of a book summary that a keyset window may be sorted by
+    public static final Map<String, Class<?>> CURSOR_SORT_KEYS = Map.of(
+            KeysetCursor.ID, Long.class,
+            "title", String.class,
+            "category", String.class,
+            "author", String.class,
+            "publisher", String.class,
+            "quantity", Integer.class,
+            "status", BookStatusEnum.class,
+            "createdAt", Instant.class,
+            "updatedAt", Instant.class);
+
     private final BookRepository bookRepository;
     
     /**
@@ -41,6 +64,80 @@ public class BookQueryService extends QueryService<Book> {
 
     }
 
+    /**
+     * Retrieves a paginated list of book summaries that match the specified criteria.
+     *
+     * Only the columns of a list row are selected; the description is not read.
+     *
+     * @param criteria the filtering criteria containing conditions for querying books.
+     * @param pageable the pagination information including page number and size.
+     * @return a {@link Page} containing the summaries of the matching books.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookSummaryDto> findSummariesByCriteria(BookCriteria criteria, Pageable pageable) {
+        log.debug("find summaries by criteria: {}, page: {}", criteria, pageable);
+        return bookRepository.findSummaries(createSpecification(criteria), pageable);
+    }
+
+    /**
+     * Retrieves one page of book summaries that match the specified criteria without
+     * counting the whole result set.
+     *
+     * @param criteria the filtering criteria containing conditions for querying books.
+     * @param pageable the pagination information including page number and size.
+     * @return a {@link Slice} containing the summaries of the page and whether more follow.
+     */
+    @Transactional(readOnly = true)
+    public Slice<BookSummaryDto> findSummarySliceByCriteria(BookCriteria criteria, Pageable pageable) {
+        log.debug("find summary slice by criteria: {}, page: {}", criteria, pageable);
+        return bookRepository.findSummarySlice(createSpecification(criteria), pageable);
+    }
+
+    /**
+     * Streams the export rows of the books that match the specified criteria in id order.
+     *
+     * The stream reads from an open result set: it must be consumed and closed
+     * within the caller's transaction.
+     *
+     * @param criteria the filtering criteria containing conditions for querying books.
+     * @return a {@link Stream} of the matching books, description included.
+     */
+    @Transactional(readOnly = true)
+    public Stream<BookExportDto> streamExportByCriteria(BookCriteria criteria) {
+        log.debug("stream export by criteria: {}", criteria);
+        return bookRepository.streamForExport(createSpecification(criteria));
+    }
+
+    /**
+     * Counts the books that match the specified criteria.
+     *
+     * @param criteria the filtering criteria containing conditions for querying books.
+     * @return the number of matching books.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(BookCriteria criteria) {
+        log.debug("count by criteria: {}", criteria);
+        return bookRepository.count(createSpecification(criteria));
+    }
+
+    /**
+     * Retrieves the keyset window of book summaries that match the specified criteria.
+     *
+     * Rows are sought after the position encoded in the cursor instead of skipped
+     * with an offset, and no count query is run.
+     *
+     * @param criteria the filtering criteria containing conditions for querying books.
+     * @param pageable the window size and, for the first window, the sort.
+     * @param cursor   the cursor returned with the previous window, empty for the first one.
+     * @return the summaries of the window and the cursor of the next one.
+     * @throws InvalidException if the cursor is not valid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPagination.Window<BookSummaryDto> findSummaryWindowByCriteria(BookCriteria criteria, Pageable pageable, String cursor) throws InvalidException {
+        log.debug("find summary window by criteria: {}, cursor: {}", criteria, cursor);
+        return KeysetPagination.fetch(bookRepository::findSummaries, createSpecification(criteria), pageable, cursor, CURSOR_SORT_KEYS);
+    }
+
     /**
      * Builds a {@link Specification} for filtering books based on the given criteria.
      *
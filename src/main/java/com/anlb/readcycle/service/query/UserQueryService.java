@@ -1,7 +1,12 @@
 package com.anlb.readcycle.service.query;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,7 +15,11 @@ import com.anlb.readcycle.domain.Role_;
 import com.anlb.readcycle.domain.User;
 import com.anlb.readcycle.domain.User_;
 import com.anlb.readcycle.repository.UserRepository;
+import com.anlb.readcycle.repository.support.SpecificationSliceRepository;
 import com.anlb.readcycle.service.criteria.UserCriteria;
+import com.anlb.readcycle.utils.exception.InvalidException;
+import com.anlb.readcycle.utils.pagination.KeysetCursor;
+import com.anlb.readcycle.utils.pagination.KeysetPagination;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -22,7 +31,18 @@ import tech.jhipster.service.QueryService;
 @RequiredArgsConstructor
 public class UserQueryService extends QueryService<User> {
 
+    // attributes a keyset window of users may be sorted by; the token carries the
+    // value of the last row, so secrets such as the password are not listed
+    public static final Map<String, Class<?>> CURSOR_SORT_KEYS = Map.of(
+            KeysetCursor.ID, Long.class,
+            "name", String.class,
+            "email", String.class,
+            "dateOfBirth", LocalDate.class,
+            "createdAt", Instant.class,
+            "updatedAt", Instant.class);
+
     private final UserRepository userRepository;
+    private final SpecificationSliceRepository sliceRepository;
 
     /**
      * Retrieves a paginated list of users based on the specified search criteria.
@@ -41,6 +61,48 @@ public class UserQueryService extends QueryService<User> {
         return userRepository.findAll(specification, pageable);
     }
 
+    /**
+     * Retrieves one page of users that match the specified criteria without
+     * counting the whole result set.
+     *
+     * @param criteria the filtering criteria containing conditions for querying users.
+     * @param pageable the pagination information including page number and size.
+     * @return a {@link Slice} containing the users of the page and whether more follow.
+     */
+    @Transactional(readOnly = true)
+    public Slice<User> findSliceByCriteria(UserCriteria criteria, Pageable pageable) {
+        log.debug("find slice by criteria: {}, page: {}", criteria, pageable);
+        return sliceRepository.findSlice(User.class, createSpecification(criteria), pageable);
+    }
+
+    /**
+     * Counts the users that match the specified criteria.
+     *
+     * @param criteria the filtering criteria containing conditions for querying users.
+     * @return the number of matching users.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(UserCriteria criteria) {
+        log.debug("count by criteria: {}", criteria);
+        return userRepository.count(createSpecification(criteria));
+    }
+
+    /**
+     * Retrieves the keyset window of users that match the specified criteria,
+     * seeking after the cursor position instead of skipping an offset.
+     *
+     * @param criteria the filtering criteria for retrieving users.
+     * @param pageable the window size and, for the first window, the sort.
+     * @param cursor   the cursor returned with the previous window, empty for the first one.
+     * @return the users of the window and the cursor of the next one.
+     * @throws InvalidException if the cursor is not valid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPagination.Window<User> findWindowByCriteria(UserCriteria criteria, Pageable pageable, String cursor) throws InvalidException {
+        log.debug("find window by criteria : {}, cursor: {}", criteria, cursor);
+        return KeysetPagination.fetch(userRepository, createSpecification(criteria), pageable, cursor, CURSOR_SORT_KEYS);
+    }
+
     /**
      * Builds a {@link Specification} for filtering users based on the given criteria.
      *
@@ -0,0 +1,303 @@
+package com.anlb.readcycle.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.anlb.readcycle.event.BorrowRecordedEvent;
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.repository.projection.BorrowPairView;
+import com.anlb.readcycle.utils.collection.LongIntHashMap;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Borrowed together" statistics: a sparse item-item matrix counting, for every
+ * pair of books, the users who borrowed both.
+ *
+ * The matrix is rebuilt from the {@code borrows} table at startup and periodically,
+ * in parallel on a fork/join pool: rows are split into partitions and each task
+ * fills only its own rows, so no merging or locking is needed. Between rebuilds it
+ * is updated incrementally from committed {@link BorrowRecordedEvent}s. Lookups are
+ * served from memory only.
+ */
+@Slf4j
+@Service
+public class CoBorrowRecommender {
+
+    // row partitions per pool thread, so uneven partitions still balance
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    private record Candidate(long bookId, int together, double score) {
+    }
+
+    private static final Comparator<Candidate> CANDIDATE_ORDER = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparing(Comparator.comparingInt(Candidate::together).reversed())
+            .thenComparingLong(Candidate::bookId);
+
+    private final BorrowRepository borrowRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // user -> books borrowed at least once (value unused)
+    private Map<Long, LongIntHashMap> userBooks = new HashMap<>();
+
+    // book -> other book -> users who borrowed both
+    private Map<Long, LongIntHashMap> coBorrows = new HashMap<>();
+
+    // book -> distinct users who borrowed it
+    private LongIntHashMap borrowers = new LongIntHashMap();
+
+    // borrows committed while a rebuild reads the table, replayed onto its result
+    private final List<BorrowRecordedEvent> recordedDuringRebuild = new ArrayList<>();
+    private boolean rebuildRunning;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public CoBorrowRecommender(BorrowRepository borrowRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${anlb.recommendation.parallelism:0}") int parallelism) {
+        this.borrowRepository = borrowRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Builds the matrix once the application has started.
+     * Runs asynchronously so a long borrow history does not delay startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the matrix from the {@code borrows} table, replacing the incrementally
+     * maintained one. Skipped if a rebuild is already running.
+     */
+    @Scheduled(initialDelayString = "${anlb.recommendation.rebuild-interval:PT1H}",
+            fixedDelayString = "${anlb.recommendation.rebuild-interval:PT1H}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            rebuildRunning = true;
+            recordedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Map<Long, LongIntHashMap> loadedUserBooks = loadUserBooks();
+            List<long[]> baskets = new ArrayList<>(loadedUserBooks.size());
+            LongIntHashMap loadedBorrowers = new LongIntHashMap();
+            for (LongIntHashMap books : loadedUserBooks.values()) {
+                long[] basket = books.keys();
+                baskets.add(basket);
+                for (long bookId : basket) {
+                    loadedBorrowers.addTo(bookId, 1);
+                }
+            }
+            int partitions = pool.getParallelism() * PARTITIONS_PER_THREAD;
+            Map<Long, LongIntHashMap> built = pool.invoke(new PartitionTask(baskets, partitions, 0, partitions));
+
+            lock.writeLock().lock();
+            try {
+                userBooks = loadedUserBooks;
+                coBorrows = built;
+                borrowers = loadedBorrowers;
+                // events are idempotent per (user, book), so replaying ones already in the table is harmless
+                recordedDuringRebuild.forEach(this::apply);
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("co-borrow matrix rebuilt for {} users, {} books in {} ms",
+                    loadedUserBooks.size(), built.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("co-borrow matrix rebuild failed", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuildRunning = false;
+                recordedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Adds the committed borrows to the matrix.
+     *
+     * @param event the books a user has just borrowed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowRecorded(BorrowRecordedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (rebuildRunning) {
+                recordedDuringRebuild.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the books most often borrowed by the borrowers of the given book.
+     *
+     * Candidates are ranked by cosine similarity of their borrower sets, so books
+     * everyone borrows do not crowd out closer matches.
+     *
+     * @param bookId the book to find companions for.
+     * @param limit  the maximum number of books.
+     * @return the ids of the similar books, best first; empty if the book was never
+     *         borrowed together with another one.
+     */
+    public List<Long> similar(long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            LongIntHashMap row = coBorrows.get(bookId);
+            if (row == null || limit <= 0) {
+                return List.of();
+            }
+            int bookBorrowers = borrowers.get(bookId);
+            PriorityQueue<Candidate> top = new PriorityQueue<>(CANDIDATE_ORDER.reversed());
+            row.forEach((otherId, together) -> {
+                double score = together / Math.sqrt((double) bookBorrowers * Math.max(1, borrowers.get(otherId)));
+                top.add(new Candidate(otherId, together, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+            List<Candidate> ranked = new ArrayList<>(top);
+            ranked.sort(CANDIDATE_ORDER);
+            List<Long> ids = new ArrayList<>(ranked.size());
+            ranked.forEach(candidate -> ids.add(candidate.bookId()));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, LongIntHashMap> loadUserBooks() {
+        return transactionTemplate.execute(status -> {
+            Map<Long, LongIntHashMap> result = new HashMap<>();
+            try (Stream<BorrowPairView> pairs = borrowRepository.streamBorrowPairs()) {
+                pairs.forEach(pair -> result.computeIfAbsent(pair.getUserId(), userId -> new LongIntHashMap(8))
+                        .put(pair.getBookId(), 1));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Pairs each newly borrowed book with the user's earlier books. A book the user
+     * had already borrowed adds nothing.
+     */
+    private void apply(BorrowRecordedEvent event) {
+        LongIntHashMap books = userBooks.computeIfAbsent(event.getUserId(), userId -> new LongIntHashMap(8));
+        for (long bookId : event.getBookIds()) {
+            if (books.containsKey(bookId)) {
+                continue;
+            }
+            LongIntHashMap row = coBorrows.computeIfAbsent(bookId, id -> new LongIntHashMap());
+            books.forEach((otherId, unused) -> {
+                row.addTo(otherId, 1);
+                coBorrows.computeIfAbsent(otherId, id -> new LongIntHashMap()).addTo(bookId, 1);
+            });
+            books.put(bookId, 1);
+            borrowers.addTo(bookId, 1);
+        }
+    }
+
+    private static int partitionOf(long bookId, int partitions) {
+        long h = bookId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod((int) (h ^ (h >>> 32)), partitions);
+    }
+
+    /**
+     * Builds the rows of the books in partitions {@code [from, to)}, splitting the
+     * range until a task owns a single partition.
+     */
+    private static final class PartitionTask extends RecursiveTask<Map<Long, LongIntHashMap>> {
+
+        private final List<long[]> baskets;
+        private final int partitions;
+        private final int from;
+        private final int to;
+
+        PartitionTask(List<long[]> baskets, int partitions, int from, int to) {
+            this.baskets = baskets;
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, LongIntHashMap> compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                PartitionTask left = new PartitionTask(baskets, partitions, from, middle);
+                left.fork();
+                Map<Long, LongIntHashMap> rows = new PartitionTask(baskets, partitions, middle, to).compute();
+                // partitions own disjoint books, so the maps never share a key
+                rows.putAll(left.join());
+                return rows;
+            }
+            Map<Long, LongIntHashMap> rows = new HashMap<>();
+            for (long[] basket : baskets) {
+                for (long bookId : basket) {
+                    if (partitionOf(bookId, partitions) != from) {
+                        continue;
+                    }
+                    LongIntHashMap row = rows.computeIfAbsent(bookId, id -> new LongIntHashMap());
+                    for (long otherId : basket) {
+                        if (otherId != bookId) {
+                            row.addTo(otherId, 1);
+                        }
+                    }
+                }
+            }
+            return rows;
+        }
+    }
+}
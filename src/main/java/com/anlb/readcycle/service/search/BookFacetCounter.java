@@ -0,0 +1,282 @@
+package com.anlb.readcycle.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.dto.response.FacetCountDto;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.projection.BookFacetView;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory counts of the active catalog per category, author and availability.
+ *
+ * The counts are loaded once at startup and then adjusted from committed
+ * {@link BookChangedEvent}s (book writes and the stock changes of borrows and
+ * returns), so the storefront listing gets its facets without a {@code GROUP BY}.
+ * Values are grouped case-insensitively like the MySQL collation; a book is
+ * {@code AVAILABLE} while its quantity is positive.
+ *
+ * The sorted facet lists are rebuilt on a {@code anlb.book-facets.refresh-interval}
+ * tick when something changed, so listings only read a ready snapshot and lag the
+ * counts by at most one tick. The rebuild only copies the counts under the lock
+ * that committing requests need and picks the top values outside of it.
+ * Until the initial load has finished {@link #getFacets()} returns {@code null}.
+ */
+@Slf4j
+@Service
+public class BookFacetCounter {
+
+    public static final String CATEGORY = "category";
+    public static final String AUTHOR = "author";
+    public static final String AVAILABILITY = "availability";
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    // most frequent first, then by label
+    private static final Comparator<FacetCountDto> FACET_ORDER = Comparator.comparingLong(FacetCountDto::getCount).reversed()
+            .thenComparing(FacetCountDto::getValue);
+
+    private final BookRepository bookRepository;
+    private final int maxValues;
+
+    // facet values each active book currently contributes
+    private final Map<Long, FacetKey> books = new HashMap<>();
+    private final Facet categories = new Facet();
+    private final Facet authors = new Facet();
+    private final Facet availability = new Facet();
+
+    // ids written by events while the initial load is running; the load must not overwrite them
+    private final Set<Long> changedDuringLoad = new HashSet<>();
+    private volatile boolean ready;
+
+    // sorted facet lists, rebuilt by refresh() once a change made them stale
+    private volatile Map<String, List<FacetCountDto>> snapshot;
+    private volatile boolean stale;
+    private final Object refreshLock = new Object();
+
+    public BookFacetCounter(BookRepository bookRepository,
+            @Value("${anlb.book-facets.max-values:20}") int maxValues) {
+        this.bookRepository = bookRepository;
+        this.maxValues = maxValues;
+    }
+
+    private record FacetKey(String category, String author, String availability) {
+    }
+
+    /**
+     * Book counts of one facet, keyed by the lower-cased value. The label shown is
+     * the spelling of the first book counted.
+     */
+    private static class Facet {
+
+        private final Map<String, Bucket> buckets = new HashMap<>();
+
+        void add(String value) {
+            if (value == null) {
+                return;
+            }
+            buckets.computeIfAbsent(normalize(value), key -> new Bucket(value)).count++;
+        }
+
+        void remove(String value) {
+            if (value == null) {
+                return;
+            }
+            String key = normalize(value);
+            Bucket bucket = buckets.get(key);
+            if (bucket != null && --bucket.count <= 0) {
+                buckets.remove(key);
+            }
+        }
+
+        List<FacetCountDto> counts() {
+            List<FacetCountDto> counts = new ArrayList<>(buckets.size());
+            buckets.values().forEach(bucket -> counts.add(new FacetCountDto(bucket.label, bucket.count)));
+            return counts;
+        }
+
+        void clear() {
+            buckets.clear();
+        }
+
+        private static String normalize(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static class Bucket {
+        private final String label;
+        private long count;
+
+        Bucket(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Counts every book in id-ordered chunks.
+     * Runs asynchronously so a large catalog does not delay startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<BookFacetView> rows;
+        do {
+            rows = bookRepository.findFacetViewsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            synchronized (this) {
+                for (BookFacetView row : rows) {
+                    if (!changedDuringLoad.contains(row.getId())) {
+                        put(row.getId(), row.isActive() ? keyOf(row.getCategory(), row.getAuthor(), row.getQuantity()) : null);
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == LOAD_CHUNK_SIZE);
+
+        synchronized (this) {
+            changedDuringLoad.clear();
+            stale = true;
+            ready = true;
+        }
+        // getFacets() keeps answering null until this first snapshot exists
+        refresh();
+        log.info("book facets loaded for {} active books in {} ms", books.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Moves the changed book's contribution to its new facet values once its
+     * transaction has committed.
+     *
+     * @param event the committed book change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (!ready) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        Book book = event.getCurrent();
+        put(event.getBookId(), book != null && book.isActive()
+                ? keyOf(book.getCategory(), book.getAuthor(), book.getQuantity())
+                : null);
+    }
+
+    /**
+     * Moves the contributions of every book of a committed batch at once.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookBatchChanged(BookBatchChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    /**
+     * Returns the most frequent values of each facet with their active book counts.
+     *
+     * @return facet name -> at most {@code anlb.book-facets.max-values} values by
+     *         descending count, or {@code null} while the counts are loading.
+     */
+    public Map<String, List<FacetCountDto>> getFacets() {
+        return ready ? snapshot : null;
+    }
+
+    /**
+     * Rebuilds the sorted facet lists if a change made them stale.
+     */
+    @Scheduled(fixedDelayString = "${anlb.book-facets.refresh-interval:PT1S}")
+    public void refresh() {
+        // the load and the scheduler may both refresh; an older copy must not replace a newer one
+        synchronized (refreshLock) {
+            if (!stale) {
+                return;
+            }
+            List<FacetCountDto> categoryCounts;
+            List<FacetCountDto> authorCounts;
+            List<FacetCountDto> availabilityCounts;
+            synchronized (this) {
+                stale = false;
+                categoryCounts = categories.counts();
+                authorCounts = authors.counts();
+                availabilityCounts = availability.counts();
+            }
+            Map<String, List<FacetCountDto>> built = new LinkedHashMap<>();
+            built.put(CATEGORY, top(categoryCounts, maxValues));
+            built.put(AUTHOR, top(authorCounts, maxValues));
+            built.put(AVAILABILITY, top(availabilityCounts, maxValues));
+            snapshot = built;
+        }
+    }
+
+    /**
+     * Selects the values with the highest counts with a bounded heap, so the cost
+     * grows with the number of values but not with their sort.
+     */
+    private static List<FacetCountDto> top(List<FacetCountDto> counts, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<FacetCountDto> heap = new PriorityQueue<>(limit + 1, FACET_ORDER.reversed());
+        for (FacetCountDto count : counts) {
+            heap.add(count);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<FacetCountDto> top = new ArrayList<>(heap);
+        top.sort(FACET_ORDER);
+        return top;
+    }
+
+    /**
+     * Replaces the contribution of a book; {@code null} removes it.
+     */
+    private void put(long bookId, FacetKey key) {
+        FacetKey previous = key == null ? books.remove(bookId) : books.put(bookId, key);
+        if (key != null && key.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            categories.remove(previous.category());
+            authors.remove(previous.author());
+            availability.remove(previous.availability());
+        }
+        if (key != null) {
+            categories.add(key.category());
+            authors.add(key.author());
+            availability.add(key.availability());
+        }
+        stale = true;
+    }
+
+    private static FacetKey keyOf(String category, String author, int quantity) {
+        BookStatusEnum status = quantity > 0 ? BookStatusEnum.AVAILABLE : BookStatusEnum.UNAVAILABLE;
+        return new FacetKey(category, author, status.name());
+    }
+}
@@ -0,0 +1,451 @@
+package com.anlb.readcycle.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.projection.BookTextView;
+import com.anlb.readcycle.service.criteria.BookCriteriaMatcher;
+import com.anlb.readcycle.service.search.BookSearchIndex.SearchResult;
+import com.anlb.readcycle.utils.TextTokenizer;
+import com.anlb.readcycle.utils.collection.LongIntHashMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Typo-tolerant search over book titles and authors.
+ *
+ * The distinct words of both fields form a vocabulary with a trigram index. A query
+ * word is resolved to the vocabulary words sharing enough trigrams with it, which
+ * are then verified with a Levenshtein distance bounded by the word length (0 edits
+ * up to 2 letters, 1 up to 5, 2 beyond). Only the vocabulary is scanned, never the
+ * books, so latency follows the number of distinct words rather than the catalog size.
+ *
+ * Every query word must match (AND semantics); books are ranked by how close their
+ * words are. The index is loaded at startup and kept current from committed
+ * {@link BookChangedEvent}s. Until the load has finished {@link #isReady()} is
+ * {@code false} and callers should fall back to the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookFuzzyIndex {
+
+    public enum Field {
+        TITLE(2.0), AUTHOR(1.5);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final char PAD = '$';
+
+    private static final Comparator<Hit> HIT_ORDER = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::bookId);
+
+    private final BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // vocabulary: word -> its id and, per field, the books containing it
+    private final Map<String, Word> words = new HashMap<>();
+    private final List<Word> wordsById = new ArrayList<>();
+
+    // trigram -> ids of the vocabulary words containing it (value unused)
+    private final Map<String, LongIntHashMap> trigrams = new HashMap<>();
+
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    // ids written by events while the initial load is running; the load must not overwrite them
+    private final Set<Long> changedDuringLoad = new HashSet<>();
+    private volatile boolean ready;
+
+    private static final class Word {
+        private final int id;
+        private final String text;
+        private final LongIntHashMap[] postings = new LongIntHashMap[FIELDS.length];
+
+        Word(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        boolean isUnused() {
+            for (LongIntHashMap posting : postings) {
+                if (posting != null && !posting.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Doc(boolean active, String category, String[][] words) {
+    }
+
+    private record Match(Word word, int distance) {
+    }
+
+    private record Hit(long bookId, double score) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads every book into the index in id-ordered chunks.
+     * Runs asynchronously so a large catalog does not delay startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<BookTextView> rows;
+        do {
+            rows = bookRepository.findTextViewsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (BookTextView row : rows) {
+                    if (!changedDuringLoad.contains(row.getId())) {
+                        index(row.getId(), row.isActive(), row.getCategory(), row.getTitle(), row.getAuthor());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == LOAD_CHUNK_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("book fuzzy index loaded {} books, {} words in {} ms", docs.size(), words.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-indexes or removes the changed book once its transaction has committed.
+     *
+     * @param event the committed book change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes or removes every book of a committed batch under one write lock.
+     *
+     * @param event the committed changes.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getChanges().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(BookChangedEvent event) {
+        Book book = event.getCurrent();
+        if (!ready) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        if (book == null) {
+            remove(event.getBookId());
+        } else {
+            index(book.getId(), book.isActive(), book.getCategory(), book.getTitle(), book.getAuthor());
+        }
+    }
+
+    /**
+     * Searches the given fields with typo tolerance; every word of every field query must match.
+     *
+     * @param queries  the text to search per field.
+     * @param category an additional filter on the category, {@code null} for none.
+     * @param active   restricts the result to active/inactive books, {@code null} for both.
+     * @param offset   the index of the first hit to return.
+     * @param limit    the maximum number of hits to return.
+     * @return the total hit count and the requested window of book ids, closest first.
+     */
+    public SearchResult search(Map<Field, String> queries, StringFilter category, Boolean active, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // per query word: the field it targets and its vocabulary matches
+            List<Field> clauseFields = new ArrayList<>();
+            List<List<Match>> clauses = new ArrayList<>();
+            for (Map.Entry<Field, String> query : queries.entrySet()) {
+                for (String token : new LinkedHashSet<>(TextTokenizer.tokenize(query.getValue()))) {
+                    List<Match> matches = resolve(token, query.getKey());
+                    if (matches.isEmpty()) {
+                        return new SearchResult(0, List.of());
+                    }
+                    clauseFields.add(query.getKey());
+                    clauses.add(matches);
+                }
+            }
+            if (clauses.isEmpty()) {
+                return new SearchResult(0, List.of());
+            }
+
+            // candidates come from the clause with the fewest postings, the others filter and score
+            int driver = 0;
+            for (int c = 1; c < clauses.size(); c++) {
+                if (postingCount(clauses.get(c), clauseFields.get(c)) < postingCount(clauses.get(driver), clauseFields.get(driver))) {
+                    driver = c;
+                }
+            }
+
+            LongIntHashMap candidates = new LongIntHashMap();
+            for (Match match : clauses.get(driver)) {
+                LongIntHashMap posting = match.word().postings[clauseFields.get(driver).ordinal()];
+                if (posting != null) {
+                    posting.forEach((bookId, unused) -> candidates.put(bookId, 1));
+                }
+            }
+
+            PriorityQueue<Hit> window = new PriorityQueue<>(HIT_ORDER.reversed());
+            long total = 0;
+            long windowSize = offset + limit;
+            for (long bookId : candidates.keys()) {
+                Doc doc = docs.get(bookId);
+                if (active != null && doc.active() != active) {
+                    continue;
+                }
+                if (category != null && !BookCriteriaMatcher.matches(category, doc.category())) {
+                    continue;
+                }
+                double score = 0;
+                boolean matchesAll = true;
+                for (int c = 0; c < clauses.size() && matchesAll; c++) {
+                    double best = best(clauses.get(c), clauseFields.get(c), bookId);
+                    matchesAll = best > 0;
+                    score += best;
+                }
+                if (!matchesAll) {
+                    continue;
+                }
+                total++;
+                window.add(new Hit(bookId, score));
+                if (window.size() > windowSize) {
+                    window.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(window);
+            hits.sort(HIT_ORDER);
+            List<Long> page = new ArrayList<>();
+            for (int i = (int) Math.min(offset, hits.size()); i < hits.size(); i++) {
+                page.add(hits.get(i).bookId());
+            }
+            return new SearchResult(total, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the vocabulary words of the field within the edit distance allowed for the token.
+     *
+     * Each edit destroys at most three trigrams, so a word within {@code k} edits
+     * shares at least {@code |trigrams(token)| - 3k} trigrams with the token; only
+     * words reaching that count are compared letter by letter.
+     */
+    private List<Match> resolve(String token, Field field) {
+        int maxDistance = maxDistance(token.length());
+        List<String> tokenTrigrams = trigramsOf(token);
+        int required = Math.max(1, tokenTrigrams.size() - 3 * maxDistance);
+
+        LongIntHashMap shared = new LongIntHashMap();
+        for (String trigram : tokenTrigrams) {
+            LongIntHashMap wordIds = trigrams.get(trigram);
+            if (wordIds != null) {
+                wordIds.forEach((wordId, unused) -> shared.addTo(wordId, 1));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        shared.forEach((wordId, count) -> {
+            if (count < required) {
+                return;
+            }
+            Word word = wordsById.get((int) wordId);
+            LongIntHashMap posting = word.postings[field.ordinal()];
+            if (posting == null || posting.isEmpty()) {
+                return;
+            }
+            int distance = distance(token, word.text, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(word, distance));
+            }
+        });
+        return matches;
+    }
+
+    private double best(List<Match> matches, Field field, long bookId) {
+        double best = 0;
+        for (Match match : matches) {
+            LongIntHashMap posting = match.word().postings[field.ordinal()];
+            if (posting != null && posting.containsKey(bookId)) {
+                best = Math.max(best, field.weight / (1 + match.distance()));
+            }
+        }
+        return best;
+    }
+
+    private static long postingCount(List<Match> matches, Field field) {
+        long count = 0;
+        for (Match match : matches) {
+            LongIntHashMap posting = match.word().postings[field.ordinal()];
+            count += posting == null ? 0 : posting.size();
+        }
+        return count;
+    }
+
+    private static int maxDistance(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        return length <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance, abandoned as soon as it must exceed {@code max}.
+     *
+     * @return the distance, or {@code max + 1} if it is larger than {@code max}.
+     */
+    private static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private static List<String> trigramsOf(String word) {
+        String padded = PAD + word + PAD;
+        List<String> result = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private void index(long bookId, boolean active, String category, String... values) {
+        remove(bookId);
+        String[][] docWords = new String[FIELDS.length][];
+        for (int field = 0; field < FIELDS.length; field++) {
+            Set<String> tokens = new LinkedHashSet<>(TextTokenizer.tokenize(values[field]));
+            for (String token : tokens) {
+                Word word = words.computeIfAbsent(token, this::addWord);
+                if (word.postings[field] == null) {
+                    word.postings[field] = new LongIntHashMap(4);
+                }
+                word.postings[field].put(bookId, 1);
+            }
+            docWords[field] = tokens.toArray(new String[0]);
+        }
+        docs.put(bookId, new Doc(active, category, docWords));
+    }
+
+    private Word addWord(String text) {
+        Word word = new Word(wordsById.size(), text);
+        wordsById.add(word);
+        for (String trigram : trigramsOf(text)) {
+            trigrams.computeIfAbsent(trigram, key -> new LongIntHashMap(4)).put(word.id, 1);
+        }
+        return word;
+    }
+
+    private void remove(long bookId) {
+        Doc doc = docs.remove(bookId);
+        if (doc == null) {
+            return;
+        }
+        for (int field = 0; field < FIELDS.length; field++) {
+            for (String text : doc.words()[field]) {
+                Word word = words.get(text);
+                if (word == null || word.postings[field] == null) {
+                    continue;
+                }
+                word.postings[field].remove(bookId);
+                if (word.isUnused()) {
+                    // the id is not reused; the word gets a new one if it comes back
+                    words.remove(text);
+                    wordsById.set(word.id, null);
+                    for (String trigram : trigramsOf(text)) {
+                        LongIntHashMap wordIds = trigrams.get(trigram);
+                        if (wordIds != null) {
+                            wordIds.remove(word.id);
+                            if (wordIds.isEmpty()) {
+                                trigrams.remove(trigram);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.anlb.readcycle.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.projection.BookTextView;
+import com.anlb.readcycle.utils.TextTokenizer;
+import com.anlb.readcycle.utils.collection.LongIntHashMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over the title, author, category and publisher of
+ * every book, ranked with BM25.
+ *
+ * The index is loaded from the {@code books} table once the application is ready
+ * and kept up to date from {@link BookChangedEvent}s afterwards. Until the first
+ * load has finished {@link #isReady()} is {@code false} and callers should fall
+ * back to the database.
+ *
+ * Every query token must match (AND semantics). In a free text search a token
+ * matches any indexed term it is a prefix of, so "harr pot" finds "Harry Potter".
+ * {@code contains} filters keep their SQL meaning instead, see
+ * {@link #searchContains(Map, Boolean, long, int)}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    public enum Field {
+        TITLE(2.0), AUTHOR(1.5), CATEGORY(1.0), PUBLISHER(0.5);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    private final BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<TreeMap<String, LongIntHashMap>> postings = createPostings();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final long[] totalLengths = new long[FIELDS.length];
+
+    // ids written by events while the initial load is running; the load must not overwrite them
+    private final Set<Long> changedDuringLoad = new HashSet<>();
+    private volatile boolean ready;
+
+    /**
+     * The result window of a search: the total number of matching books and the
+     * ids of the requested window ordered by descending relevance.
+     */
+    public record SearchResult(long total, List<Long> bookIds) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads every book into the index in id-ordered chunks.
+     * Runs asynchronously so a large catalog does not delay startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<BookTextView> rows;
+        do {
+            rows = bookRepository.findTextViewsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (BookTextView row : rows) {
+                    if (!changedDuringLoad.contains(row.getId())) {
+                        index(row.getId(), row.isActive(), row.getTitle(), row.getAuthor(), row.getCategory(), row.getPublisher());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == LOAD_CHUNK_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("book search index loaded {} books in {} ms", docs.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Re-indexes or removes the changed book once its transaction has committed.
+     *
+     * @param event the committed book change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes or removes every book of a committed batch under one write lock.
+     *
+     * @param event the committed changes.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.getChanges().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(BookChangedEvent event) {
+        Book book = event.getCurrent();
+        if (!ready) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        if (book == null) {
+            remove(event.getBookId());
+        } else {
+            index(book.getId(), book.isActive(), book.getTitle(), book.getAuthor(), book.getCategory(), book.getPublisher());
+        }
+    }
+
+    /**
+     * Answers {@code contains} filters with the meaning of {@code LIKE '%x%'} under
+     * the default case- and accent-insensitive collation: a book matches when the
+     * normalized field contains the normalized text, so "ter" finds "Potter". Each
+     * token of the text selects the books having a term it occurs in; those books
+     * are then checked against the whole text and ranked by relevance.
+     *
+     * @param queries the text each field must contain.
+     * @param active  restricts the result to active/inactive books, {@code null} for both.
+     * @param offset  the index of the first hit to return.
+     * @param limit   the maximum number of hits to return.
+     * @return the total hit count and the requested window of book ids, or
+     *         {@code null} if a text has no letter or digit to look up, in which case
+     *         the caller must run the filter on the database.
+     */
+    public SearchResult searchContains(Map<Field, String> queries, Boolean active, long offset, int limit) {
+        List<Clause> clauses = new ArrayList<>();
+        Map<Field, String> texts = new HashMap<>();
+        for (Map.Entry<Field, String> query : queries.entrySet()) {
+            List<String> tokens = TextTokenizer.tokenize(query.getValue());
+            if (tokens.isEmpty()) {
+                return null;
+            }
+            for (String token : tokens) {
+                clauses.add(new Clause(token, new Field[] { query.getKey() }, true));
+            }
+            texts.put(query.getKey(), TextTokenizer.normalize(query.getValue()));
+        }
+        LongPredicate containsAll = bookId -> {
+            String[] values = docs.get(bookId).texts();
+            return texts.entrySet().stream().allMatch(text -> values[text.getKey().ordinal()].contains(text.getValue()));
+        };
+        return search(clauses, active, containsAll, offset, limit);
+    }
+
+    /**
+     * Searches all fields at once: every token of the query must match at least one field.
+     *
+     * @param query  the free text query.
+     * @param active restricts the result to active/inactive books, {@code null} for both.
+     * @param offset the index of the first hit to return.
+     * @param limit  the maximum number of hits to return.
+     * @return the total hit count and the requested window of book ids.
+     */
+    public SearchResult search(String query, Boolean active, long offset, int limit) {
+        List<Clause> clauses = new ArrayList<>();
+        for (String token : TextTokenizer.tokenize(query)) {
+            clauses.add(new Clause(token, FIELDS, false));
+        }
+        return search(clauses, active, null, offset, limit);
+    }
+
+    private SearchResult search(List<Clause> clauses, Boolean active, LongPredicate accept, long offset, int limit) {
+        if (clauses.isEmpty()) {
+            return new SearchResult(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            List<List<Expansion>> expanded = new ArrayList<>();
+            for (Clause clause : clauses) {
+                List<Expansion> expansions = expand(clause);
+                if (expansions.isEmpty()) {
+                    return new SearchResult(0, List.of());
+                }
+                expanded.add(expansions);
+            }
+            // the rarest clause produces the candidates, the others only filter and score them
+            expanded.sort(Comparator.comparingLong(BookSearchIndex::postingCount));
+
+            LongIntHashMap slots = new LongIntHashMap();
+            List<Long> ids = new ArrayList<>();
+            List<Double> scores = new ArrayList<>();
+            for (Expansion expansion : expanded.get(0)) {
+                expansion.posting().forEach((bookId, tf) -> {
+                    double score = score(expansion, bookId, tf);
+                    int slot = slots.get(bookId);
+                    if (slot == 0) {
+                        ids.add(bookId);
+                        scores.add(score);
+                        slots.put(bookId, ids.size());
+                    } else if (score > scores.get(slot - 1)) {
+                        scores.set(slot - 1, score);
+                    }
+                });
+            }
+
+            PriorityQueue<Hit> window = new PriorityQueue<>(HIT_ORDER.reversed());
+            long total = 0;
+            long windowSize = offset + limit;
+            for (int i = 0; i < ids.size(); i++) {
+                long bookId = ids.get(i);
+                if (active != null && docs.get(bookId).active() != active) {
+                    continue;
+                }
+                if (accept != null && !accept.test(bookId)) {
+                    continue;
+                }
+                double score = scores.get(i);
+                boolean matchesAll = true;
+                for (int c = 1; c < expanded.size() && matchesAll; c++) {
+                    double best = 0;
+                    for (Expansion expansion : expanded.get(c)) {
+                        int tf = expansion.posting().get(bookId);
+                        if (tf > 0) {
+                            best = Math.max(best, score(expansion, bookId, tf));
+                        }
+                    }
+                    matchesAll = best > 0;
+                    score += best;
+                }
+                if (!matchesAll) {
+                    continue;
+                }
+                total++;
+                window.add(new Hit(bookId, score));
+                if (window.size() > windowSize) {
+                    window.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(window);
+            hits.sort(HIT_ORDER);
+            List<Long> page = new ArrayList<>();
+            for (int i = (int) Math.min(offset, hits.size()); i < hits.size(); i++) {
+                page.add(hits.get(i).bookId());
+            }
+            return new SearchResult(total, page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves a query token to the indexed terms it is a prefix of, the exact term
+     * first, or for a {@code contains} clause to every term it occurs in. Past
+     * {@code MAX_PREFIX_EXPANSION} terms, the remaining ones are merged into a
+     * single posting scored as one term, so short tokens stay cheap to score
+     * without dropping any matching book.
+     */
+    private List<Expansion> expand(Clause clause) {
+        List<Expansion> expansions = new ArrayList<>();
+        for (Field field : clause.fields()) {
+            TreeMap<String, LongIntHashMap> terms = postings.get(field.ordinal());
+            SortedMap<String, LongIntHashMap> range = clause.substring()
+                    ? terms
+                    : terms.subMap(clause.token(), clause.token() + Character.MAX_VALUE);
+            int expanded = 0;
+            LongIntHashMap rest = null;
+            for (Map.Entry<String, LongIntHashMap> term : range.entrySet()) {
+                if (clause.substring() && !term.getKey().contains(clause.token())) {
+                    continue;
+                }
+                if (expanded++ < MAX_PREFIX_EXPANSION) {
+                    expansions.add(new Expansion(field, idf(term.getValue().size()), term.getValue()));
+                    continue;
+                }
+                if (rest == null) {
+                    rest = new LongIntHashMap();
+                }
+                LongIntHashMap merged = rest;
+                term.getValue().forEach((bookId, tf) -> merged.put(bookId, Math.max(tf, merged.get(bookId))));
+            }
+            if (rest != null) {
+                expansions.add(new Expansion(field, idf(rest.size()), rest));
+            }
+        }
+        return expansions;
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1 + (docs.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double score(Expansion expansion, long bookId, int tf) {
+        int field = expansion.field().ordinal();
+        double averageLength = docs.isEmpty() ? 1 : Math.max(1.0, (double) totalLengths[field] / docs.size());
+        int length = docs.get(bookId).lengths()[field];
+        double norm = tf + K1 * (1 - B + B * length / averageLength);
+        return expansion.field().weight * expansion.idf() * (tf * (K1 + 1)) / norm;
+    }
+
+    private static long postingCount(List<Expansion> expansions) {
+        long count = 0;
+        for (Expansion expansion : expansions) {
+            count += expansion.posting().size();
+        }
+        return count;
+    }
+
+    private void index(long bookId, boolean active, String... values) {
+        remove(bookId);
+        int[] lengths = new int[FIELDS.length];
+        String[][] terms = new String[FIELDS.length][];
+        String[] texts = new String[FIELDS.length];
+        for (int field = 0; field < FIELDS.length; field++) {
+            texts[field] = TextTokenizer.normalize(values[field]);
+            Map<String, Integer> frequencies = new HashMap<>();
+            List<String> tokens = TextTokenizer.tokenize(values[field]);
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            TreeMap<String, LongIntHashMap> fieldPostings = postings.get(field);
+            frequencies.forEach((term, tf) -> fieldPostings.computeIfAbsent(term, k -> new LongIntHashMap(4)).put(bookId, tf));
+            lengths[field] = tokens.size();
+            terms[field] = frequencies.keySet().toArray(new String[0]);
+            totalLengths[field] += tokens.size();
+        }
+        docs.put(bookId, new Doc(active, lengths, terms, texts));
+    }
+
+    private void remove(long bookId) {
+        Doc doc = docs.remove(bookId);
+        if (doc == null) {
+            return;
+        }
+        for (int field = 0; field < FIELDS.length; field++) {
+            TreeMap<String, LongIntHashMap> fieldPostings = postings.get(field);
+            for (String term : doc.terms()[field]) {
+                LongIntHashMap posting = fieldPostings.get(term);
+                if (posting != null) {
+                    posting.remove(bookId);
+                    if (posting.isEmpty()) {
+                        fieldPostings.remove(term);
+                    }
+                }
+            }
+            totalLengths[field] -= doc.lengths()[field];
+        }
+    }
+
+    private static List<TreeMap<String, LongIntHashMap>> createPostings() {
+        List<TreeMap<String, LongIntHashMap>> result = new ArrayList<>();
+        for (int i = 0; i < FIELDS.length; i++) {
+            result.add(new TreeMap<>());
+        }
+        return result;
+    }
+
+    private static final Comparator<Hit> HIT_ORDER = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::bookId);
+
+    // texts holds the normalized field values a contains filter is checked against
+    private record Doc(boolean active, int[] lengths, String[][] terms, String[] texts) {
+    }
+
+    private record Clause(String token, Field[] fields, boolean substring) {
+    }
+
+    private record Expansion(Field field, double idf, LongIntHashMap posting) {
+    }
+
+    private record Hit(long bookId, double score) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.anlb.readcycle.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.dto.response.BookSuggestionDto;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.projection.BookTextView;
+import com.anlb.readcycle.utils.TextTokenizer;
+import com.anlb.readcycle.utils.constant.SuggestionTypeEnum;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sorted prefix index of the titles and authors of active books, serving typeahead.
+ *
+ * Each distinct normalized title or author is stored once, under one key per word
+ * it contains (the phrase from that word on), so "pot" suggests "Harry Potter".
+ * Keys live in a {@link ConcurrentSkipListMap}: a lookup is a lock-free range scan
+ * while writes, which come from committed {@link BookChangedEvent}s, are serialized.
+ *
+ * Until the initial load has finished {@link #isReady()} is {@code false} and no
+ * suggestions are returned.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookSuggestIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    // keys read per lookup; bounds the cost of one-letter prefixes
+    private static final int MAX_SCAN = 256;
+    private static final char SEPARATOR = '\u0000';
+
+    private final BookRepository bookRepository;
+
+    // word-suffix + SEPARATOR + type + SEPARATOR + phrase -> suggestion
+    private final ConcurrentSkipListMap<String, Suggestion> prefixes = new ConcurrentSkipListMap<>();
+
+    // type + SEPARATOR + phrase -> suggestion, guarded by this
+    private final Map<String, Suggestion> phrases = new HashMap<>();
+
+    // title and author each active book contributes, guarded by this
+    private final Map<Long, BookTerms> books = new HashMap<>();
+
+    // ids written by events while the initial load is running; the load must not overwrite them
+    private final Set<Long> changedDuringLoad = new HashSet<>();
+    private volatile boolean ready;
+
+    private record BookTerms(String title, String author) {
+    }
+
+    private static final class Suggestion {
+        private final SuggestionTypeEnum type;
+        private final String value;
+        private final String phrase;
+        private final List<String> keys;
+        private volatile int count;
+
+        Suggestion(SuggestionTypeEnum type, String value, String phrase, List<String> keys) {
+            this.type = type;
+            this.value = value;
+            this.phrase = phrase;
+            this.keys = keys;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads the titles and authors of every active book in id-ordered chunks.
+     * Runs asynchronously so a large catalog does not delay startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<BookTextView> rows;
+        do {
+            rows = bookRepository.findTextViewsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            synchronized (this) {
+                for (BookTextView row : rows) {
+                    if (!changedDuringLoad.contains(row.getId())) {
+                        put(row.getId(), row.isActive() ? new BookTerms(row.getTitle(), row.getAuthor()) : null);
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == LOAD_CHUNK_SIZE);
+
+        synchronized (this) {
+            changedDuringLoad.clear();
+            ready = true;
+        }
+        log.info("book suggest index loaded {} phrases in {} ms", phrases.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replaces the title and author of the changed book once its transaction has
+     * committed; inactive and deleted books are dropped.
+     *
+     * @param event the committed book change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookChanged(BookChangedEvent event) {
+        if (!ready) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        Book book = event.getCurrent();
+        put(event.getBookId(), book != null && book.isActive() ? new BookTerms(book.getTitle(), book.getAuthor()) : null);
+    }
+
+    /**
+     * Replaces the titles and authors of every book of a committed batch at once.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onBookBatchChanged(BookBatchChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    /**
+     * Returns titles and authors having a word that starts with the query.
+     *
+     * Phrases starting with the query come first, then those shared by more books.
+     *
+     * @param query the text typed so far.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, empty while the index is loading.
+     */
+    public List<BookSuggestionDto> suggest(String query, int limit) {
+        String prefix = String.join(" ", TextTokenizer.tokenize(query));
+        if (!ready || prefix.isEmpty()) {
+            return List.of();
+        }
+        // suggestion -> whether the phrase itself starts with the query
+        Map<Suggestion, Boolean> matches = new LinkedHashMap<>();
+        int scanned = 0;
+        for (Suggestion suggestion : prefixes.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            if (scanned++ == MAX_SCAN) {
+                break;
+            }
+            matches.merge(suggestion, suggestion.phrase.startsWith(prefix), Boolean::logicalOr);
+        }
+        return matches.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Suggestion, Boolean> match) -> !match.getValue())
+                        .thenComparing(match -> -match.getKey().count)
+                        .thenComparing(match -> match.getKey().value))
+                .limit(limit)
+                .map(match -> new BookSuggestionDto(match.getKey().value, match.getKey().type, match.getKey().count))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Replaces the contribution of a book; {@code null} removes it.
+     */
+    private void put(long bookId, BookTerms terms) {
+        BookTerms previous = terms == null ? books.remove(bookId) : books.put(bookId, terms);
+        if (Objects.equals(previous, terms)) {
+            return;
+        }
+        if (previous != null) {
+            release(SuggestionTypeEnum.TITLE, previous.title());
+            release(SuggestionTypeEnum.AUTHOR, previous.author());
+        }
+        if (terms != null) {
+            acquire(SuggestionTypeEnum.TITLE, terms.title());
+            acquire(SuggestionTypeEnum.AUTHOR, terms.author());
+        }
+    }
+
+    private void acquire(SuggestionTypeEnum type, String value) {
+        List<String> tokens = TextTokenizer.tokenize(value);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        String phrase = String.join(" ", tokens);
+        Suggestion suggestion = phrases.get(type + "" + SEPARATOR + phrase);
+        if (suggestion == null) {
+            List<String> keys = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                keys.add(String.join(" ", tokens.subList(i, tokens.size())) + SEPARATOR + type + SEPARATOR + phrase);
+            }
+            suggestion = new Suggestion(type, value.trim(), phrase, keys);
+            phrases.put(type + "" + SEPARATOR + phrase, suggestion);
+            for (String key : keys) {
+                prefixes.put(key, suggestion);
+            }
+        }
+        suggestion.count++;
+    }
+
+    private void release(SuggestionTypeEnum type, String value) {
+        List<String> tokens = TextTokenizer.tokenize(value);
+        if (tokens.isEmpty()) {
+            return;
+        }
+        String id = type + "" + SEPARATOR + String.join(" ", tokens);
+        Suggestion suggestion = phrases.get(id);
+        if (suggestion != null && --suggestion.count <= 0) {
+            phrases.remove(id);
+            suggestion.keys.forEach(prefixes::remove);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.anlb.readcycle.service.search;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.event.BookBatchChangedEvent;
+import com.anlb.readcycle.event.BookChangedEvent;
+import com.anlb.readcycle.event.BorrowRecordedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trending score of the books, fed by detail views and borrows.
+ *
+ * Recording an event only increments a {@link LongAdder}, which spreads concurrent
+ * increments over striped cells instead of contending on one counter. A scheduled
+ * fold drains the counters into an exponentially decayed score per book and keeps
+ * the {@code anlb.trending.top-k} best ids as an immutable snapshot, so the
+ * {@code sort=trending} listing is answered from that list without sorting in the
+ * database.
+ *
+ * Scores are kept in memory only and start from zero after a restart.
+ */
+@Slf4j
+@Service
+public class BookTrendingTracker {
+
+    public static final String SORT_PROPERTY = "trending";
+
+    // scores below this are dropped; the book is no longer trending
+    private static final double MIN_SCORE = 0.01;
+
+    private final double viewWeight;
+    private final double borrowWeight;
+    private final double halfLifeMillis;
+    private final int topK;
+
+    private final ConcurrentHashMap<Long, LongAdder> views = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LongAdder> borrows = new ConcurrentHashMap<>();
+
+    // books deleted or deactivated since the last fold
+    private final Queue<Long> removed = new ConcurrentLinkedQueue<>();
+
+    // decayed scores, only touched by the fold
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long lastFold = System.currentTimeMillis();
+
+    private volatile List<Long> top = List.of();
+
+    public BookTrendingTracker(@Value("${anlb.trending.view-weight:1}") double viewWeight,
+            @Value("${anlb.trending.borrow-weight:5}") double borrowWeight,
+            @Value("${anlb.trending.half-life:PT6H}") Duration halfLife,
+            @Value("${anlb.trending.top-k:500}") int topK) {
+        this.viewWeight = viewWeight;
+        this.borrowWeight = borrowWeight;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.topK = topK;
+    }
+
+    /**
+     * Checks whether a listing asks for the trending order.
+     *
+     * @param sort the requested sort.
+     * @return {@code true} if the sort contains the {@value #SORT_PROPERTY} property.
+     */
+    public static boolean isTrendingSort(Sort sort) {
+        return sort.getOrderFor(SORT_PROPERTY) != null;
+    }
+
+    /**
+     * Records a view of a book detail.
+     *
+     * @param bookId the viewed book.
+     */
+    public void recordView(long bookId) {
+        increment(views, bookId);
+    }
+
+    /**
+     * Records the committed borrows of a user.
+     *
+     * @param event the books a user has just borrowed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBorrowRecorded(BorrowRecordedEvent event) {
+        for (long bookId : event.getBookIds()) {
+            increment(borrows, bookId);
+        }
+    }
+
+    /**
+     * Drops deleted and deactivated books at the next fold.
+     *
+     * @param event the committed book change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        Book book = event.getCurrent();
+        if (book == null || !book.isActive()) {
+            removed.add(event.getBookId());
+        }
+    }
+
+    /**
+     * Drops the deleted and deactivated books of a committed batch at the next fold.
+     *
+     * @param event the committed changes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookBatchChanged(BookBatchChangedEvent event) {
+        event.getChanges().forEach(this::onBookChanged);
+    }
+
+    /**
+     * Returns the ids of the most trending books.
+     *
+     * @return at most {@code anlb.trending.top-k} ids, highest score first.
+     */
+    public List<Long> getTop() {
+        return top;
+    }
+
+    /**
+     * Decays the scores by the time elapsed since the previous fold, adds the
+     * weighted events counted since then and rebuilds the top list.
+     */
+    @Scheduled(fixedDelayString = "${anlb.trending.fold-interval:PT1M}")
+    public synchronized void fold() {
+        long now = System.currentTimeMillis();
+        double decay = Math.pow(0.5, (now - lastFold) / halfLifeMillis);
+        lastFold = now;
+
+        Long bookId;
+        while ((bookId = removed.poll()) != null) {
+            scores.remove(bookId);
+            views.remove(bookId);
+            borrows.remove(bookId);
+        }
+
+        scores.replaceAll((id, score) -> score * decay);
+        drain(views, viewWeight);
+        drain(borrows, borrowWeight);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+
+        // min-heap of the best K seen so far
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (best.size() < topK) {
+                best.add(entry);
+            } else if (entry.getValue() > best.peek().getValue()) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+        List<Long> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().getKey());
+        }
+        Collections.reverse(ranked);
+        top = Collections.unmodifiableList(ranked);
+        log.debug("trending scores folded for {} books in {} ms", scores.size(), System.currentTimeMillis() - now);
+    }
+
+    private static void increment(ConcurrentHashMap<Long, LongAdder> counters, long bookId) {
+        LongAdder counter = counters.get(bookId);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(bookId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private void drain(ConcurrentHashMap<Long, LongAdder> counters, double weight) {
+        Iterator<Map.Entry<Long, LongAdder>> entries = counters.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, LongAdder> entry = entries.next();
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                scores.merge(entry.getKey(), count * weight, Double::sum);
+            } else {
+                // idle counter; an increment racing with the removal is lost, which a score tolerates
+                entries.remove();
+            }
+        }
+    }
+}
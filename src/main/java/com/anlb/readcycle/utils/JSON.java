@@ -9,4 +9,8 @@ public class JSON {
     public static String toJson(Object payload) {
         return gson.toJson(payload);
     }
+
+    public static <T> T fromJson(String json, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
 }
@@ -2,6 +2,7 @@ package com.anlb.readcycle.utils;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Map;
 import java.util.Optional;
 
 import javax.crypto.SecretKey;
@@ -108,6 +109,21 @@ public class SecurityUtil {
         return Optional.ofNullable(extractPrincipal(securityContext.getAuthentication()));
     }
 
+    /**
+     * Get the id of the current user from the {@code user} claim of the access token,
+     * without reading the database
+     *
+     * @return the id of the current user, empty if the request carries no such token
+     */
+    public static Optional<Long> getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt
+                && jwt.getClaims().get("user") instanceof Map<?, ?> user && user.get("id") instanceof Number id) {
+            return Optional.of(id.longValue());
+        }
+        return Optional.empty();
+    }
+
     private static String extractPrincipal(Authentication authentication) {
         if (authentication == null) {
             return null;
@@ -0,0 +1,65 @@
+package com.anlb.readcycle.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes and splits free text for the in-memory book indexes.
+ *
+ * Text is lower-cased, stripped of diacritics (so "Đắc Nhân Tâm" and
+ * "dac nhan tam" produce the same tokens) and split on every character that is
+ * not a letter or digit.
+ */
+public final class TextTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * Lower-cases the text and removes diacritics, keeping every other character.
+     *
+     * @param text the raw text, may be {@code null}.
+     * @return the normalized text, empty for {@code null}.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'd')
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits the text into normalized tokens.
+     *
+     * @param text the raw text, may be {@code null}.
+     * @return the tokens in order of appearance, duplicates included.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+}
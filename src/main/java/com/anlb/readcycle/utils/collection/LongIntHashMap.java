@@ -0,0 +1,206 @@
+package com.anlb.readcycle.utils.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to {@code int} values.
+ *
+ * Avoids the boxing and per-entry node of {@code HashMap<Long, Integer>}, which
+ * matters for the in-memory book indexes that hold one entry per (term, book).
+ * Absent keys read as {@code 0}. Not thread-safe; callers guard access.
+ */
+public class LongIntHashMap {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    // 0 is the empty-slot marker, so its entry lives outside the tables
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR) + 1) * 2 - 1);
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return keys[slot(key)] == key;
+    }
+
+    public int get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : 0;
+        }
+        int slot = slot(key);
+        return keys[slot] == key ? values[slot] : 0;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the value of the key, inserting it if absent.
+     *
+     * @return the new value.
+     */
+    public int addTo(long key, int delta) {
+        int value = get(key) + delta;
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @return the previous value, or {@code 0} if the key was absent.
+     */
+    public int remove(long key) {
+        if (key == EMPTY) {
+            int previous = hasZeroKey ? zeroValue : 0;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return previous;
+        }
+        int slot = slot(key);
+        if (keys[slot] != key) {
+            return 0;
+        }
+        int previous = values[slot];
+        shiftBack(slot);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size()];
+        int i = 0;
+        if (hasZeroKey) {
+            result[i++] = EMPTY;
+        }
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Backward-shift deletion: pulls later entries of the same probe run into the
+     * freed slot so lookups never need tombstones.
+     */
+    private void shiftBack(int free) {
+        int mask = keys.length - 1;
+        int slot = free;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long key = keys[slot];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = mix(key) & mask;
+            boolean movable = free <= slot ? (home <= free || home > slot) : (home <= free && home > slot);
+            if (movable) {
+                keys[free] = key;
+                values[free] = values[slot];
+                free = slot;
+            }
+        }
+        keys[free] = EMPTY;
+        values[free] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
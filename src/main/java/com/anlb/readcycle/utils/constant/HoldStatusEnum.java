@@ -0,0 +1,5 @@
+package com.anlb.readcycle.utils.constant;
+
+public enum HoldStatusEnum {
+    WAITING, FULFILLED, CANCELLED
+}
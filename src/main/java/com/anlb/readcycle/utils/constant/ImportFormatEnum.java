@@ -0,0 +1,27 @@
+package com.anlb.readcycle.utils.constant;
+
+import java.util.Locale;
+
+public enum ImportFormatEnum {
+    CSV, NDJSON;
+
+    /**
+     * Detects the format from the file extension.
+     *
+     * @param fileName the name of the uploaded file.
+     * @return the format, or {@code null} if the extension is not supported.
+     */
+    public static ImportFormatEnum fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.anlb.readcycle.utils.constant;
+
+/**
+ * How an offset listing reports its size, selected with the {@code paging} request parameter.
+ *
+ * EXACT: runs a COUNT with every page (default).
+ * SLICE: fetches one extra row and only reports whether a next page exists.
+ * ESTIMATED: like SLICE, plus a cached total refreshed in the background.
+ */
+public enum PagingModeEnum {
+    EXACT, SLICE, ESTIMATED
+}
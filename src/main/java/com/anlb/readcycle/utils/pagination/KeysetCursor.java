@@ -0,0 +1,172 @@
+package com.anlb.readcycle.utils.pagination;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import com.anlb.readcycle.utils.JSON;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position of a keyset (seek) listing: the sort key and direction plus the sort
+ * value and id of the last row already returned.
+ *
+ * Serialized as an opaque URL-safe token so clients only pass it back. The token
+ * carries the sort value of a row, so every listing names the attributes it may be
+ * sought by; anything else, such as a password hash, is refused.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetCursor {
+
+    public static final String ID = "id";
+
+    private String sortKey;
+    private Sort.Direction direction;
+    private String value;
+    private Long lastId;
+
+    /**
+     * Creates the cursor of the first window for the given sort. Only the first
+     * sort order is used, {@code id} always breaks ties.
+     *
+     * @param sort     the requested sort, unsorted means by id ascending.
+     * @param sortKeys the attributes the listing may be sorted by, with their types.
+     * @return a cursor positioned before the first row.
+     * @throws InvalidException if the listing cannot be sought by the sort attribute.
+     */
+    public static KeysetCursor start(Sort sort, Map<String, Class<?>> sortKeys) throws InvalidException {
+        Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+        if (!sortKeys.containsKey(order.getProperty())) {
+            throw new InvalidException("Cursor paging does not support sorting by " + order.getProperty());
+        }
+        return new KeysetCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token    the opaque cursor token.
+     * @param sortKeys the attributes the listing may be sorted by, with their types.
+     * @return the decoded cursor.
+     * @throws InvalidException if the token is malformed, names another sort
+     *                          attribute or carries a value of the wrong type.
+     */
+    public static KeysetCursor decode(String token, Map<String, Class<?>> sortKeys) throws InvalidException {
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            KeysetCursor cursor = JSON.fromJson(json, KeysetCursor.class);
+            if (cursor == null || cursor.sortKey == null || cursor.direction == null
+                    || !sortKeys.containsKey(cursor.sortKey)) {
+                throw new InvalidException("Cursor is not valid");
+            }
+            // parsed here so a tampered value is refused before the query is built
+            cursor.parseValue(sortKeys.get(cursor.sortKey));
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new InvalidException("Cursor is not valid");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(JSON.toJson(this).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isStart() {
+        return lastId == null;
+    }
+
+    public boolean isAscending() {
+        return direction.isAscending();
+    }
+
+    public Sort toSort() {
+        Sort sort = Sort.by(direction, sortKey);
+        return ID.equals(sortKey) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * Creates the cursor positioned after the given row.
+     *
+     * @param row the last row of the current window; its fields are read by
+     *            attribute name, so entities and DTOs with matching field names both work.
+     * @return the cursor of the next window.
+     * @throws InvalidException if the row has no such fields.
+     */
+    public KeysetCursor after(Object row) throws InvalidException {
+        Object sortValue = readField(row, sortKey);
+        Object id = readField(row, ID);
+        return new KeysetCursor(sortKey, direction, format(sortValue), ((Number) id).longValue());
+    }
+
+    /**
+     * Converts the stored sort value back to the type of the sort attribute.
+     *
+     * @param type the Java type of the sort attribute.
+     * @return the typed value, {@code null} if the last row had no value.
+     * @throws IllegalArgumentException if the value does not parse as the type, see
+     *                                  {@link #decode(String, Map)} which checks it first.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Comparable<?> parseValue(Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        if (type == String.class) {
+            return value;
+        }
+        if (type == Long.class || type == long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == Integer.class || type == int.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == Double.class || type == double.class) {
+            return Double.valueOf(value);
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.valueOf(value);
+        }
+        if (type == Instant.class) {
+            return Instant.parse(value);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+        throw new IllegalArgumentException("Unsupported cursor sort type " + type.getName());
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Enum<?> enumValue) {
+            return enumValue.name();
+        }
+        return value.toString();
+    }
+
+    private static Object readField(Object row, String name) throws InvalidException {
+        Field field = ReflectionUtils.findField(row.getClass(), name);
+        if (field == null) {
+            throw new InvalidException("Cursor is not valid");
+        }
+        ReflectionUtils.makeAccessible(field);
+        return ReflectionUtils.getField(field, row);
+    }
+}
@@ -0,0 +1,111 @@
+package com.anlb.readcycle.utils.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.repository.specification.KeysetSpecifications;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+/**
+ * Fetches keyset (seek) windows: instead of {@code OFFSET n} the query continues
+ * after the {@code (sortKey, id)} of the last row, so every window costs the same
+ * index range scan however deep the client has paged. No count query is issued.
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * One window of a keyset listing and the cursor of the next one
+     * ({@code null} on the last window).
+     */
+    public record Window<T>(List<T> content, String nextCursor) {
+    }
+
+    /**
+     * Reads at most {@code limit} rows matching the specification in the given order.
+     */
+    @FunctionalInterface
+    public interface RowFetcher<T, R> {
+        List<R> fetch(Specification<T> spec, Sort sort, int limit);
+    }
+
+    /**
+     * Fetches the window after the given cursor.
+     *
+     * @param repository the repository to query.
+     * @param spec       the listing filters.
+     * @param pageable   the requested size and, for the first window, the sort.
+     * @param token      the cursor returned with the previous window, blank for the first one.
+     * @param sortKeys   the attributes the listing may be sorted by, with their types.
+     * @return the rows of the window and the next cursor.
+     * @throws InvalidException if the cursor or the sort cannot be used for seeking.
+     */
+    public static <T> Window<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+            Pageable pageable, String token, Map<String, Class<?>> sortKeys) throws InvalidException {
+        return fetch((seek, sort, limit) -> repository.findBy(seek, query -> query.sortBy(sort).limit(limit).all()),
+                spec, pageable, token, sortKeys);
+    }
+
+    /**
+     * Fetches the window after the given cursor through a custom row reader, e.g.
+     * one selecting a DTO projection. The rows must expose the sort key and
+     * {@code id} as fields of the same name.
+     *
+     * @param fetcher  reads the rows.
+     * @param spec     the listing filters.
+     * @param pageable the requested size and, for the first window, the sort.
+     * @param token    the cursor returned with the previous window, blank for the first one.
+     * @param sortKeys the attributes the listing may be sorted by, with their types.
+     * @return the rows of the window and the next cursor.
+     * @throws InvalidException if the cursor or the sort cannot be used for seeking.
+     */
+    public static <T, R> Window<R> fetch(RowFetcher<T, R> fetcher, Specification<T> spec,
+            Pageable pageable, String token, Map<String, Class<?>> sortKeys) throws InvalidException {
+        KeysetCursor cursor = StringUtils.isBlank(token)
+                ? KeysetCursor.start(pageable.getSort(), sortKeys)
+                : KeysetCursor.decode(token, sortKeys);
+        int size = pageable.getPageSize();
+        List<R> rows = fetcher.fetch(Specification.where(spec).and(KeysetSpecifications.after(cursor)), cursor.toSort(), size + 1);
+        if (rows.size() <= size) {
+            return new Window<>(rows, null);
+        }
+        List<R> content = new ArrayList<>(rows.subList(0, size));
+        return new Window<>(content, cursor.after(content.get(size - 1)).encode());
+    }
+
+    /**
+     * Builds the listing response of a keyset window; page counts and totals are
+     * not computed in this mode.
+     *
+     * @param window   the fetched window.
+     * @param pageable the requested size.
+     * @param mapper   converts a row to its response DTO.
+     * @return the {@link ResultPaginateDto} carrying {@code meta.nextCursor}.
+     */
+    public static <T, R> ResultPaginateDto toResponse(Window<T> window, Pageable pageable, Function<T, R> mapper) {
+        ResultPaginateDto response = new ResultPaginateDto();
+        ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
+
+        meta.setPageSize(pageable.getPageSize());
+        meta.setNextCursor(window.nextCursor());
+
+        response.setMeta(meta);
+        response.setResult(window.content()
+                .stream()
+                .map(mapper)
+                .collect(Collectors.toList()));
+        return response;
+    }
+}
@@ -0,0 +1,63 @@
+package com.anlb.readcycle.utils.pagination;
+
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Slice;
+
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+
+/**
+ * Builds listing responses for the count-free paging modes.
+ */
+public final class SlicePagination {
+
+    private SlicePagination() {
+    }
+
+    /**
+     * Builds the response of a {@code SLICE} page: only {@code meta.hasNext} tells
+     * whether more rows follow.
+     *
+     * @param slice  the fetched page.
+     * @param mapper converts a row to its response DTO.
+     * @return the {@link ResultPaginateDto} without totals.
+     */
+    public static <T, R> ResultPaginateDto toResponse(Slice<T> slice, Function<T, R> mapper) {
+        return toResponse(slice, null, mapper);
+    }
+
+    /**
+     * Builds the response of an {@code ESTIMATED} page. The estimate is raised to
+     * at least the rows known to exist so {@code pages} never ends before the
+     * current page.
+     *
+     * @param slice          the fetched page.
+     * @param estimatedTotal the cached total, {@code null} for a plain slice.
+     * @param mapper         converts a row to its response DTO.
+     * @return the {@link ResultPaginateDto} with {@code meta.totalEstimated} set.
+     */
+    public static <T, R> ResultPaginateDto toResponse(Slice<T> slice, Long estimatedTotal, Function<T, R> mapper) {
+        ResultPaginateDto response = new ResultPaginateDto();
+        ResultPaginateDto.Meta meta = new ResultPaginateDto.Meta();
+
+        meta.setPage(slice.getNumber() + 1);
+        meta.setPageSize(slice.getSize());
+        meta.setHasNext(slice.hasNext());
+
+        if (estimatedTotal != null) {
+            long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+            long total = Math.max(estimatedTotal, seen);
+            meta.setTotal(total);
+            meta.setPages(slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize()));
+            meta.setTotalEstimated(true);
+        }
+
+        response.setMeta(meta);
+        response.setResult(slice.getContent()
+                .stream()
+                .map(mapper)
+                .collect(Collectors.toList()));
+        return response;
+    }
+}
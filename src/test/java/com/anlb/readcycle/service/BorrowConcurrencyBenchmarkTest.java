@@ -0,0 +1,124 @@
+package com.anlb.readcycle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.dto.request.CreateBorrowBookRequestDto;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.repository.UserRepository;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
+import com.anlb.readcycle.utils.exception.InvalidException;
+
+/**
+ * Drives thousands of simultaneous borrows of one book against the configured
+ * database and checks that exactly the stock is lent out.
+ *
+ * Run with {@code ./gradlew benchmark}; the default test task skips it.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BorrowConcurrencyBenchmarkTest {
+
+    private static final int STOCK = 100;
+    private static final int ATTEMPTS = 5000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private IBorrowBookService borrowBookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "benchmark-" + UUID.randomUUID();
+        book = bookRepository.save(TestFixtures.newBook(prefix, STOCK));
+        user = userRepository.save(TestFixtures.newUser(prefix));
+    }
+
+    @AfterEach
+    void tearDown() {
+        borrowRepository.deleteAll(borrowRepository.findByUserAndStatus(user, BorrowStatusEnum.BORROWED));
+        bookRepository.deleteById(book.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void concurrentBorrowsNeverOversell() throws Exception {
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(ATTEMPTS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    borrowBookService.handleBorrowBook(request());
+                    borrowed.incrementAndGet();
+                } catch (InvalidException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Book after = bookRepository.findById(book.getId()).orElseThrow();
+        System.out.printf("%d borrow attempts on %d threads: %d borrowed, %d rejected in %d ms (%.0f attempts/s)%n",
+                ATTEMPTS, THREADS, borrowed.get(), rejected.get(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                ATTEMPTS / (elapsed / 1e9));
+
+        assertThat(borrowed.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - STOCK);
+        assertThat(after.getQuantity()).isZero();
+        assertThat(after.getStatus()).isEqualTo(BookStatusEnum.UNAVAILABLE);
+        assertThat(borrowRepository.countByBook(book.getId())).isEqualTo((long) STOCK);
+    }
+
+    private CreateBorrowBookRequestDto request() {
+        CreateBorrowBookRequestDto.Details details = new CreateBorrowBookRequestDto.Details();
+        details.setId(book.getId());
+        CreateBorrowBookRequestDto request = new CreateBorrowBookRequestDto();
+        request.setUsername(user.getEmail());
+        request.setDetails(List.of(details));
+        return request;
+    }
+}
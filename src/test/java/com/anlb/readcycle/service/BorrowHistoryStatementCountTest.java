@@ -0,0 +1,175 @@
+package com.anlb.readcycle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.Borrow;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.dto.request.PaginationRequestDto;
+import com.anlb.readcycle.dto.response.BorrowResponseDto;
+import com.anlb.readcycle.dto.response.ResultPaginateDto;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.BorrowRepository;
+import com.anlb.readcycle.repository.UserRepository;
+import com.anlb.readcycle.utils.constant.BorrowStatusEnum;
+
+/**
+ * Counts the SQL statements of a borrow history page: the rows, their user and
+ * their book come from one statement whatever the page size. Only statements
+ * prepared on the test thread are counted, so the index loaders running in the
+ * background at startup cannot change the numbers.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.anlb.readcycle.service.BorrowHistoryStatementCountTest$ThreadStatementCounter")
+class BorrowHistoryStatementCountTest {
+
+    private static final int BOOKS = 4;
+    private static final int BORROWS = 40;
+
+    @Autowired
+    private IBorrowBookService borrowBookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BorrowRepository borrowRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String prefix = "history-" + UUID.randomUUID();
+    private final List<Book> books = new ArrayList<>();
+    private List<Borrow> borrows;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(TestFixtures.newUser(prefix));
+
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = TestFixtures.newBook(prefix + "-" + i, BORROWS);
+            book.setCategory("Category " + i);
+            book.setDescription("not part of the history");
+            books.add(bookRepository.save(book));
+        }
+
+        List<Borrow> rows = new ArrayList<>(BORROWS);
+        for (int i = 0; i < BORROWS; i++) {
+            Borrow borrow = new Borrow();
+            borrow.setUser(user);
+            borrow.setBook(books.get(i % BOOKS));
+            borrow.setStatus(BorrowStatusEnum.BORROWED);
+            borrow.setDueDate(Instant.now());
+            rows.add(borrow);
+        }
+        borrows = borrowRepository.saveAll(rows);
+
+        Jwt jwt = Jwt.withTokenValue("test")
+                .header("alg", "none")
+                .subject(user.getEmail())
+                .claim("user", Map.of("id", user.getId(), "email", user.getEmail()))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ThreadStatementCounter.stop();
+        SecurityContextHolder.clearContext();
+        borrowRepository.deleteAll(borrows);
+        bookRepository.deleteAll(books);
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void shortFirstPageTakesOneStatement() throws Exception {
+        ThreadStatementCounter.start();
+        ResultPaginateDto page = borrowBookService.handleGetHistoryByUser(Specification.where(null),
+                PageRequest.of(0, 100, Sort.by("id")), new PaginationRequestDto());
+
+        assertThat(ThreadStatementCounter.count()).isEqualTo(1);
+        assertThat(page.getMeta().getTotal()).isEqualTo(BORROWS);
+        List<?> result = (List<?>) page.getResult();
+        assertThat(result).hasSize(BORROWS);
+        BorrowResponseDto first = (BorrowResponseDto) result.get(0);
+        assertThat(first.getBook().getTitle()).startsWith(prefix);
+        assertThat(first.getUser().getEmail()).isEqualTo(user.getEmail());
+    }
+
+    @Test
+    void fullPageAddsOnlyTheCount() throws Exception {
+        for (int size : new int[] { 5, 10, 20 }) {
+            ThreadStatementCounter.start();
+            ResultPaginateDto page = borrowBookService.handleGetHistoryByUser(Specification.where(null),
+                    PageRequest.of(0, size, Sort.by("id")), new PaginationRequestDto());
+
+            assertThat(ThreadStatementCounter.count()).as("page size %d", size).isEqualTo(2);
+            assertThat((List<?>) page.getResult()).hasSize(size);
+        }
+    }
+
+    @Test
+    void keysetWindowTakesOneStatementWhateverItsSize() throws Exception {
+        for (int size : new int[] { 5, 10, 20 }) {
+            PaginationRequestDto pagination = new PaginationRequestDto();
+            pagination.setCursor("");
+            ThreadStatementCounter.start();
+            ResultPaginateDto window = borrowBookService.handleGetHistoryByUser(Specification.where(null),
+                    PageRequest.of(0, size, Sort.by("id")), pagination);
+
+            assertThat(ThreadStatementCounter.count()).as("window size %d", size).isEqualTo(1);
+            assertThat((List<?>) window.getResult()).hasSize(size);
+            assertThat(window.getMeta().getNextCursor()).isNotNull();
+        }
+    }
+
+    /**
+     * Counts the statements Hibernate prepares on the thread that called
+     * {@link #start()}, and ignores every other thread.
+     */
+    public static class ThreadStatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+        static void start() {
+            COUNT.set(new int[1]);
+        }
+
+        static int count() {
+            return COUNT.get()[0];
+        }
+
+        static void stop() {
+            COUNT.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            int[] count = COUNT.get();
+            if (count != null) {
+                count[0]++;
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.anlb.readcycle.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.dto.request.CreateBookRequestDto;
+import com.anlb.readcycle.dto.request.CreateBorrowBookRequestDto;
+import com.anlb.readcycle.dto.response.BulkCreateResponseDto;
+import com.anlb.readcycle.repository.BookRepository;
+import com.anlb.readcycle.repository.UserRepository;
+import com.anlb.readcycle.service.batch.BookBatchWriter;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Measures the insert throughput of a bulk borrow and a bulk import with JDBC
+ * batching switched off (batch size 1) and with the configured batch size.
+ *
+ * Run with {@code ./gradlew benchmark}; the default test task skips it.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class InsertBatchingBenchmarkTest {
+
+    private static final int ROWS = 2000;
+
+    @Autowired
+    private IBorrowBookService borrowBookService;
+
+    @Autowired
+    private BookBatchWriter bookBatchWriter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String prefix = "benchmark-" + UUID.randomUUID();
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        book = bookRepository.save(TestFixtures.newBook(prefix, 4 * ROWS));
+        user = userRepository.save(TestFixtures.newUser(prefix));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM borrows WHERE user_id = ?", user.getId());
+        jdbcTemplate.update("DELETE FROM books WHERE title LIKE ?", prefix + "%");
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void bulkBorrowInsertsInBatches() {
+        long unbatched = time(1, () -> borrowBookService.handleBorrowBook(borrowRequest()));
+        long batched = time(null, () -> borrowBookService.handleBorrowBook(borrowRequest()));
+        report("bulk borrow", unbatched, batched);
+        assertThat(bookRepository.findById(book.getId()).orElseThrow().getQuantity()).isEqualTo(2 * ROWS);
+    }
+
+    @Test
+    void bulkImportInsertsInBatches() {
+        long unbatched = time(1, () -> assertThat(importBooks("a").getCountSuccess()).isEqualTo(ROWS));
+        long batched = time(null, () -> assertThat(importBooks("b").getCountSuccess()).isEqualTo(ROWS));
+        report("bulk import", unbatched, batched);
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the work in one transaction whose session uses the given JDBC batch size,
+     * {@code null} for the configured one.
+     *
+     * @return the elapsed nanoseconds, commit included.
+     */
+    private long time(Integer batchSize, Work work) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            try {
+                work.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return System.nanoTime() - start;
+    }
+
+    private void report(String name, long unbatched, long batched) {
+        System.out.printf("%s of %d rows: %.0f rows/s unbatched, %.0f rows/s batched (%.1fx, %d ms -> %d ms)%n",
+                name, ROWS, ROWS / (unbatched / 1e9), ROWS / (batched / 1e9), (double) unbatched / batched,
+                TimeUnit.NANOSECONDS.toMillis(unbatched), TimeUnit.NANOSECONDS.toMillis(batched));
+    }
+
+    private CreateBorrowBookRequestDto borrowRequest() {
+        List<CreateBorrowBookRequestDto.Details> details = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            CreateBorrowBookRequestDto.Details detail = new CreateBorrowBookRequestDto.Details();
+            detail.setId(book.getId());
+            details.add(detail);
+        }
+        CreateBorrowBookRequestDto request = new CreateBorrowBookRequestDto();
+        request.setUsername(user.getEmail());
+        request.setDetails(details);
+        return request;
+    }
+
+    private BulkCreateResponseDto importBooks(String run) {
+        List<CreateBookRequestDto> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            CreateBookRequestDto row = new CreateBookRequestDto();
+            row.setTitle(prefix + "-" + run + "-" + i);
+            row.setCategory("Benchmark");
+            row.setAuthor("Benchmark");
+            row.setPublisher("Benchmark");
+            row.setQuantity(1);
+            row.setStatus(BookStatusEnum.AVAILABLE);
+            rows.add(row);
+        }
+        return bookBatchWriter.writeChunk(rows, 1, user);
+    }
+}
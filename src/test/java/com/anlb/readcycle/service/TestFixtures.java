@@ -0,0 +1,44 @@
+package com.anlb.readcycle.service;
+
+import com.anlb.readcycle.domain.Book;
+import com.anlb.readcycle.domain.User;
+import com.anlb.readcycle.utils.constant.BookStatusEnum;
+
+/**
+ * Unsaved users and books for the tests that run against the configured database.
+ */
+final class TestFixtures {
+
+    static final String EMAIL_DOMAIN = "@readcycle.local";
+
+    private TestFixtures() {
+    }
+
+    /**
+     * @param prefix a unique prefix, also used as the local part of the email.
+     * @return a verified, active user that can log in and borrow.
+     */
+    static User newUser(String prefix) {
+        User user = new User();
+        user.setName(prefix);
+        user.setEmail(prefix + EMAIL_DOMAIN);
+        user.setPassword(prefix);
+        user.setEmailVerified(true);
+        user.setActive(true);
+        return user;
+    }
+
+    /**
+     * @param title    a unique title.
+     * @param quantity the copies in stock.
+     * @return an active, available book.
+     */
+    static Book newBook(String title, int quantity) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setQuantity(quantity);
+        book.setStatus(BookStatusEnum.AVAILABLE);
+        book.setActive(true);
+        return book;
+    }
+}